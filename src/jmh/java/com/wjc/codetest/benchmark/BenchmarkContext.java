@@ -0,0 +1,96 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.service.ProductImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+ * 벤치마크용 애플리케이션 컨텍스트.
+ * 웹 서버 없이 JPA + H2(in-memory)만 띄우고, SQL 로그는 측정값을 왜곡하므로 끔.
+ * JMH는 trial(파라미터 조합)마다 JVM을 fork하므로 in-memory DB도 trial 단위로 새로 생성됨.
+ */
+final class BenchmarkContext {
+
+    static final int CATEGORIES = 10;
+    private static final int SEED_CHUNK = 50_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CodeTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    /*
+     * 부하 벤치마크용: 임의 포트로 웹 서버까지 기동. profiles로 실행 모드(virtual-threads 등)를 지정.
+     * properties()는 기본값이라 프로필 설정에 덮이므로, 커넥션 풀/커넥터 설정은 명령행 인자로 고정하여
+     * 실행 모드 간 차이가 스레드 모델뿐이 되도록 함 (virtual-threads 프로필의 값으로 통일).
+     */
+    static ConfigurableApplicationContext startWeb(String... profiles) {
+        return new SpringApplicationBuilder(CodeTestApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.h2.console.enabled=false",
+                        // 스레드 모드 자체의 처리량을 비교하므로 동시 처리 한도(거절)는 끔.
+                        "product.concurrency.enabled=false",
+                        // 동시에 보낸 같은 목록 요청이 조회 1건으로 병합되면 DB 대기 없이 병합 대기만 측정하므로 끔.
+                        "product.list.coalescing.enabled=false",
+                        "logging.level.root=WARN")
+                .run("--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=1000",
+                        "--spring.datasource.hikari.maximum-pool-size=50",
+                        "--spring.datasource.hikari.minimum-idle=50",
+                        "--spring.datasource.hikari.connection-timeout=2000");
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    static String category(int index) {
+        return "category-" + index;
+    }
+
+    /*
+     * 카테고리 CATEGORIES개에 균등 분배하여 rows건 적재 (대량 등록 경로 사용).
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) throws IOException {
+        ProductImportService importService = context.getBean(ProductImportService.class);
+        int written = 0;
+        while (written < rows) {
+            int chunk = Math.min(SEED_CHUNK, rows - written);
+            StringBuilder ndjson = new StringBuilder(chunk * 48);
+            for (int i = 0; i < chunk; i++) {
+                int n = written + i;
+                ndjson.append("{\"category\":\"").append(category(n % CATEGORIES))
+                        .append("\",\"name\":\"product-").append(n).append("\"}\n");
+            }
+            importService.importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+            written += chunk;
+        }
+    }
+
+    static long[] productIds(ConfigurableApplicationContext context) {
+        List<Long> ids = context.getBean(JdbcTemplate.class).queryForList("SELECT product_id FROM product ORDER BY product_id", Long.class);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.CatalogColumns;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 카테고리 목록 데이터를 메모리에 둘 때의 힙 사용량 비교 (JOL GraphLayout, 도달 가능한 객체 전체 크기).
+ * - entity     : findAllByCategory로 읽은 Product 엔티티 목록 (영속성 컨텍스트의 EntityEntry/스냅샷은 제외한 하한값)
+ * - projection : findResponsesByCategory로 읽은 ProductResponse 목록
+ * - columnar   : 같은 행으로 만든 CatalogColumns
+ *
+ * 실행: ./gradlew catalogFootprint (-Prows=1000000)
+ * 결과는 build/reports/jmh/footprint-{version}.txt 에 기록.
+ */
+public final class CatalogFootprintReport {
+
+    private CatalogFootprintReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path output = args.length > 1 ? Path.of(args[1]) : null;
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.start()) {
+            BenchmarkContext.seed(context, rows);
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+
+            List<Product> entities = new ArrayList<>(rows);
+            List<ProductResponse> projections = new ArrayList<>(rows);
+            CatalogColumns columns = new CatalogColumns();
+            for (int c = 0; c < BenchmarkContext.CATEGORIES; c++) {
+                String category = BenchmarkContext.category(c);
+                readOnly.executeWithoutResult(status ->
+                        entities.addAll(productRepository.findAllByCategory(category, Pageable.unpaged()).getContent()));
+                readOnly.executeWithoutResult(status ->
+                        projections.addAll(productRepository.findResponsesByCategory(category, Pageable.unpaged()).getContent()));
+            }
+            projections.forEach(p -> columns.put(p.id(), p.category(), p.name(), p.version()));
+
+            long entityBytes = GraphLayout.parseInstance(entities).totalSize();
+            long projectionBytes = GraphLayout.parseInstance(projections).totalSize();
+            long columnarBytes = GraphLayout.parseInstance(columns).totalSize();
+
+            StringBuilder report = new StringBuilder()
+                    .append(String.format("rows=%d, categories=%d%n", rows, BenchmarkContext.CATEGORIES))
+                    .append(String.format("%-12s %14s %12s%n", "path", "bytes", "bytes/row"));
+            line(report, "entity", entityBytes, rows);
+            line(report, "projection", projectionBytes, rows);
+            line(report, "columnar", columnarBytes, rows);
+            report.append(String.format("columnar / entity = %.1f%%%n", columnarBytes * 100d / entityBytes));
+
+            System.out.print(report);
+            if (output != null) {
+                Files.createDirectories(output.toAbsolutePath().getParent());
+                try (PrintStream out = new PrintStream(Files.newOutputStream(output), true, StandardCharsets.UTF_8)) {
+                    out.print(report);
+                }
+            }
+        }
+    }
+
+    private static void line(StringBuilder report, String path, long bytes, int rows) {
+        report.append(String.format("%-12s %14d %12.1f%n", path, bytes, bytes / (double) rows));
+    }
+}
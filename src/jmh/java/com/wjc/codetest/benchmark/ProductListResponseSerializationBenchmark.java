@@ -0,0 +1,112 @@
+package com.wjc.codetest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * /product/list 응답(ProductListResponse)의 형식별 비교. DB 없이 직렬화/역직렬화만 측정.
+ * - encode : 서버 직렬화 시간
+ * - decode : 클라이언트 역직렬화 시간 (클라이언트 측 DTO로 읽음)
+ * - 전송 크기 : encode 결과의 wireBytes / gzipWireBytes 보조 카운터 (응답 압축 적용 시 크기)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductListResponseSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ProductListResponse response;
+    private byte[] encoded;
+    private long gzipped;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        List<ProductResponse> products = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            products.add(new ProductResponse((long) i + 1, "category-0", "product-" + i, 0L));
+        }
+        response = new ProductListResponse(products, 500, 10_000L, 3);
+        encoded = objectMapper.writeValueAsBytes(response);
+        gzipped = gzipSize(encoded);
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wireSize) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        wireSize.wireBytes = bytes.length;
+        wireSize.gzipWireBytes = gzipped;
+        return bytes;
+    }
+
+    @Benchmark
+    public ClientProductList deserialize() throws Exception {
+        return objectMapper.readValue(encoded, ClientProductList.class);
+    }
+
+    /*
+     * 마지막 호출의 값을 그대로 보고하도록 누적하지 않고 대입 (호출마다 같은 값).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long wireBytes;
+        public long gzipWireBytes;
+    }
+
+    public record ClientProduct(Long id, String category, String name) {
+    }
+
+    public record ClientProductList(List<ClientProduct> products, int totalPages, long totalElements, int page) {
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> new ObjectMapper();
+            case "smile" -> new ObjectMapper(new SmileFactory().configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true));
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> throw new IllegalArgumentException("unknown format: " + format);
+        };
+    }
+
+    private static long gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,107 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.CatalogColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 엔티티 조회 경로 vs projection(ProductResponse) 조회 경로 vs 메모리 컬럼형 스냅샷(CatalogColumns) 비교.
+ * 캐시를 거치지 않도록 Repository를 직접 호출하며, 응답 객체 생성까지 포함.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 비교.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductReadPathBenchmark {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private long[] productIds;
+    private PageRequest pageRequest;
+    private CatalogColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        productRepository = context.getBean(ProductRepository.class);
+        BenchmarkContext.seed(context, 100_000);
+        productIds = BenchmarkContext.productIds(context);
+        pageRequest = PageRequest.of(10, pageSize, Sort.by("category").and(Sort.by("id")));
+        columns = new CatalogColumns();
+        for (int c = 0; c < BenchmarkContext.CATEGORIES; c++) {
+            productRepository.findResponsesByCategory(BenchmarkContext.category(c), Pageable.unpaged())
+                    .forEach(p -> columns.put(p.id(), p.category(), p.name(), p.version()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object singleEntity() {
+        Product product = productRepository.findById(randomId()).orElseThrow();
+        return ProductResponse.from(product);
+    }
+
+    @Benchmark
+    public Object singleProjection() {
+        return productRepository.findResponseById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Object listEntity() {
+        Page<Product> page = productRepository.findAllByCategory(BenchmarkContext.category(0), pageRequest);
+        List<ProductResponse> content = page.getContent().stream()
+                .map(ProductResponse::from)
+                .toList();
+        return new ProductListResponse(content, page.getTotalPages(), page.getTotalElements(), page.getNumber());
+    }
+
+    @Benchmark
+    public Object listProjection() {
+        Page<ProductResponse> page = productRepository.findResponsesByCategory(BenchmarkContext.category(0), pageRequest);
+        return new ProductListResponse(page.getContent(), page.getTotalPages(), page.getTotalElements(), page.getNumber());
+    }
+
+    @Benchmark
+    public Object listColumnar() {
+        Page<ProductResponse> page = columns.page(BenchmarkContext.category(0), pageRequest);
+        return new ProductListResponse(page.getContent(), page.getTotalPages(), page.getTotalElements(), page.getNumber());
+    }
+
+    private long randomId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+}
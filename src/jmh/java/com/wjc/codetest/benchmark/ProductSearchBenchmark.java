@@ -0,0 +1,77 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 메모리 색인 기반 상품명 검색 지연. 적재된 상품명은 "product-{n}" 형식.
+ * 선택도가 높은 검색어(일치 건수가 적은 경우)가 서브 밀리초 목표 대상.
+ * unselective*는 모든 상품명에 일치하는 검색어로, 색인이 전체 상품을 읽는 최악의 경우(tableSize에 비례)를 측정.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchBenchmark {
+
+    @Param({"100000", "1000000", "3000000"})
+    public int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        productService = context.getBean(ProductService.class);
+        // 기동 이후 적재분은 이벤트로 색인에 반영됨.
+        BenchmarkContext.seed(context, tableSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object substringAllCategories() {
+        return productService.search("ct-4242", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object substringWithinCategory() {
+        return productService.search("ct-4242", BenchmarkContext.category(0), 0, 20);
+    }
+
+    @Benchmark
+    public Object exactName() {
+        return productService.search("product-77777", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object unselectiveAllCategories() {
+        return productService.search("prod", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object unselectiveWithinCategory() {
+        return productService.search("prod", BenchmarkContext.category(0), 0, 20);
+    }
+}
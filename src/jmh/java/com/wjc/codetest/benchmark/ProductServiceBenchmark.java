@@ -0,0 +1,123 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.request.PagingType;
+import com.wjc.codetest.product.model.request.ProductCursor;
+import com.wjc.codetest.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * ProductService 주요 경로 벤치마크.
+ * tableSize별로 조회 비용이 어떻게 변하는지 확인 (특히 offset 깊은 페이지 vs keyset 깊은 페이지).
+ * 깊은 페이지 = category-0의 마지막 페이지, 최대 DEEP_PAGE. 카테고리 10개 x 20건/페이지이므로
+ * 페이지 10,000에 닿으려면 200만 건 이상 필요 (100만 건은 4,999페이지까지) -> 300만 건 케이스 포함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+
+    @Param({"10000", "100000", "1000000", "3000000"})
+    public int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private long[] productIds;
+    private int deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        productService = context.getBean(ProductService.class);
+        BenchmarkContext.seed(context, tableSize);
+        productIds = BenchmarkContext.productIds(context);
+
+        // category-0의 마지막 페이지(최대 DEEP_PAGE). id는 적재 순서대로 증가하므로 같은 위치를 keyset 커서로도 표현.
+        int rowsPerCategory = tableSize / BenchmarkContext.CATEGORIES;
+        deepPage = Math.min(rowsPerCategory / PAGE_SIZE - 1, DEEP_PAGE);
+        long lastIdBeforeDeepPage = productIds[(deepPage * PAGE_SIZE - 1) * BenchmarkContext.CATEGORIES];
+        deepCursor = new ProductCursor(BenchmarkContext.category(0), lastIdBeforeDeepPage).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        return productService.create(new CreateProductRequest(BenchmarkContext.category(1), "bench"));
+    }
+
+    @Benchmark
+    public Object getProductById() {
+        long id = productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+        return productService.getProductById(id);
+    }
+
+    @Benchmark
+    public Object getListByCategoryFirstPage() {
+        return productService.getListByCategory(offsetRequest(0));
+    }
+
+    @Benchmark
+    public Object getListByCategoryDeepPage() {
+        return productService.getListByCategory(offsetRequest(deepPage));
+    }
+
+    @Benchmark
+    public Object getCursorListByCategoryFirstPage() {
+        return productService.getCursorListByCategory(cursorRequest(null));
+    }
+
+    @Benchmark
+    public Object getCursorListByCategoryDeepPage() {
+        return productService.getCursorListByCategory(cursorRequest(deepCursor));
+    }
+
+    @Benchmark
+    public Object getUniqueCategories() {
+        return productService.getUniqueCategories();
+    }
+
+    private static GetProductListRequest offsetRequest(int page) {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory(BenchmarkContext.category(0));
+        dto.setPage(page);
+        dto.setSize(PAGE_SIZE);
+        return dto;
+    }
+
+    private static GetProductListRequest cursorRequest(String after) {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory(BenchmarkContext.category(0));
+        dto.setSize(PAGE_SIZE);
+        dto.setPaging(PagingType.CURSOR);
+        dto.setAfter(after);
+        return dto;
+    }
+}
@@ -0,0 +1,130 @@
+package com.wjc.codetest.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 기동 시간 비교: JVM 프로세스 시작 ~ 첫 요청 성공(GET /product/category/list 200)까지의 시간.
+ * 매 측정마다 새 JVM을 띄우므로 JIT/클래스 로딩 등 콜드 스타트 비용을 모두 포함.
+ *
+ * - baseline   : 기본 설정
+ * - fast-start : fast-start 프로필 + AOT (lazy 초기화, 스키마 검사 없음)
+ * - fast-start+cds : 위 설정 + AppCDS 아카이브(application.jsa)
+ *
+ * 실행: ./gradlew startupBenchmark (-PstartupRuns=10)
+ * 결과는 build/reports/jmh/startup-{version}.txt 에 기록.
+ */
+public final class StartupTimeReport {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final long POLL_MILLIS = 5;
+
+    private StartupTimeReport() {
+    }
+
+    /*
+     * args: java 실행 파일, 추출된 애플리케이션 디렉터리, jar 파일명, 반복 횟수, 결과 파일
+     */
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        Path appDir = Path.of(args[1]);
+        String jar = args[2];
+        int runs = Integer.parseInt(args[3]);
+        Path output = args.length > 4 ? Path.of(args[4]) : null;
+
+        List<String> fastStart = List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start");
+        List<String> fastStartCds = new ArrayList<>(fastStart);
+        fastStartCds.add("-XX:SharedArchiveFile=application.jsa");
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("time to first successful request (ms), runs=%d%n", runs))
+                .append(String.format("%-16s %8s %8s %8s %8s%n", "variant", "min", "median", "mean", "max"));
+        measure(report, "baseline", java, appDir, jar, List.of(), runs);
+        measure(report, "fast-start", java, appDir, jar, fastStart, runs);
+        measure(report, "fast-start+cds", java, appDir, jar, fastStartCds, runs);
+
+        System.out.print(report);
+        if (output != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), true, StandardCharsets.UTF_8)) {
+                out.print(report);
+            }
+        }
+    }
+
+    private static void measure(StringBuilder report, String variant, String java, Path appDir, String jar,
+                                List<String> jvmArgs, int runs) throws Exception {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstRequest(java, appDir, jar, jvmArgs);
+        }
+        Arrays.sort(millis);
+        long mean = Arrays.stream(millis).sum() / runs;
+        report.append(String.format("%-16s %8d %8d %8d %8d%n", variant, millis[0], millis[runs / 2], mean, millis[runs - 1]));
+    }
+
+    private static long timeToFirstRequest(String java, Path appDir, String jar, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product/category/list"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(appDir.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = started + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited with code " + process.exitValue() + " :: " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음.
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            throw new IllegalStateException("no successful request within " + TIMEOUT + " :: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
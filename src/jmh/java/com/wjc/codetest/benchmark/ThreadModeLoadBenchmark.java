@@ -0,0 +1,162 @@
+package com.wjc.codetest.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 플랫폼 스레드 vs 가상 스레드 실행 모드 비교.
+ * 1회 측정 = clients개의 동시 요청(POST /product/list)을 한꺼번에 보내고 모두 응답받을 때까지의 시간.
+ * - 처리량: clients / 평균 시간 (JMH 점수)
+ * - 꼬리 지연: 요청마다 보내고 응답받을 때까지의 시간을 HdrHistogram에 기록하여 측정 iteration의 p50/p95/p99/p99.9를 출력.
+ *   (측정값은 가장 늦게 끝난 요청이 결정하므로 요청별 분포를 대신할 수 없음)
+ * 두 모드 모두 같은 커넥션 풀/커넥터 설정으로 기동 (BenchmarkContext.startWeb).
+ * 모든 요청이 같은 본문이므로 startWeb에서 목록 조회 병합(product.list.coalescing.enabled)을 꺼,
+ * 요청마다 blocking JDBC 조회를 실행하게 함 (병합이 켜져 있으면 burst당 조회가 1건 남짓이라 스레드 모델 차이가 드러나지 않음).
+ * 클라이언트는 가상 스레드로 생성하여 부하 생성기 자체가 병목이 되지 않도록 함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeLoadBenchmark {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    @Param({"platform", "virtual"})
+    public String threadMode;
+
+    @Param({"100", "1000", "10000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ExecutorService clientExecutor;
+    private HttpRequest listRequest;
+
+    private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final Histogram measuredLatencies = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private long measuredErrors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = "virtual".equals(threadMode)
+                ? BenchmarkContext.startWeb("virtual-threads")
+                : BenchmarkContext.startWeb();
+        BenchmarkContext.seed(context, 100_000);
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String body = "{\"category\":\"" + BenchmarkContext.category(0) + "\",\"page\":10,\"size\":20}";
+        listRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkContext.port(context) + "/product/list"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    // warmup iteration의 기록은 버리고 측정 iteration만 누적.
+    @TearDown(Level.Iteration)
+    public void endIteration(IterationParams iteration) {
+        Histogram interval = latencies.getIntervalHistogram();
+        if (iteration.getType() == IterationType.MEASUREMENT) {
+            measuredLatencies.add(interval);
+            measuredErrors += errors.sum();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nper-request latency :: threadMode=%s, clients=%d, requests=%d, errors=%d, "
+                        + "p50=%.2fms, p95=%.2fms, p99=%.2fms, p99.9=%.2fms, max=%.2fms%n",
+                threadMode, clients, measuredLatencies.getTotalCount(), measuredErrors,
+                millis(measuredLatencies.getValueAtPercentile(50)),
+                millis(measuredLatencies.getValueAtPercentile(95)),
+                millis(measuredLatencies.getValueAtPercentile(99)),
+                millis(measuredLatencies.getValueAtPercentile(99.9)),
+                millis(measuredLatencies.getMaxValue()));
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Boolean>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            responses.add(clientExecutor.submit(this::send));
+        }
+        int ok = 0;
+        for (Future<Boolean> response : responses) {
+            if (response.get()) {
+                ok++;
+            }
+        }
+        return ok;
+    }
+
+    /*
+     * 성공(200) 응답만 지연 분포에 포함하고, 그 외 응답/연결 오류는 오류 수로 따로 집계.
+     */
+    private boolean send() {
+        long started = System.nanoTime();
+        try {
+            if (httpClient.send(listRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+                latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, micros)));
+                return true;
+            }
+        } catch (IOException e) {
+            // 연결 거절/타임아웃 -> 오류로 집계.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        errors.increment();
+        return false;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+}
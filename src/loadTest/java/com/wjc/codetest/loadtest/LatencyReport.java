@@ -0,0 +1,147 @@
+package com.wjc.codetest.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 작업별 지연 시간(HdrHistogram, 마이크로초 단위)과 오류 수 기록, 리포트 출력, p99 기준값 비교.
+ * 성공(2xx) 응답만 지연 분포에 포함하고, 그 외 응답/연결 오류는 오류 수로 따로 집계.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    static final String ALL = "all";
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void success(Operation operation, long latencyNanos) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorders.get(operation).recordValue(micros);
+    }
+
+    void error(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    Summary summarize(Duration measured) {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+        List<Row> rows = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).sum();
+            if (histogram.getTotalCount() == 0 && operationErrors == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allErrors += operationErrors;
+            rows.add(Row.of(key(operation), histogram, operationErrors, measured));
+        }
+        rows.add(Row.of(ALL, all, allErrors, measured));
+        return new Summary(rows, all);
+    }
+
+    static String key(Operation operation) {
+        return operation.name().toLowerCase(Locale.ROOT);
+    }
+
+    record Row(String name, long count, long errors, double throughput,
+               double p50, double p95, double p99, double p999, double max) {
+
+        static Row of(String name, Histogram histogram, long errors, Duration measured) {
+            double seconds = measured.toNanos() / 1e9;
+            return new Row(name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        double errorRate() {
+            long total = count + errors;
+            return total == 0 ? 0 : errors / (double) total;
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000d;
+        }
+    }
+
+    record Summary(List<Row> rows, Histogram all) {
+
+        Row row(String name) {
+            return rows.stream().filter(row -> row.name().equals(name)).findFirst().orElse(null);
+        }
+
+        void print(PrintStream out, String title) {
+            out.println(title);
+            out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                    "operation", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+            for (Row row : rows) {
+                out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        row.name(), row.count(), row.errors(), row.throughput(),
+                        row.p50(), row.p95(), row.p99(), row.p999(), row.max());
+            }
+        }
+
+        void writeHistogram(Path file) throws IOException {
+            try (OutputStream stream = Files.newOutputStream(file);
+                 PrintStream out = new PrintStream(stream, true, StandardCharsets.UTF_8)) {
+                // 밀리초 단위 percentile 분포 (HdrHistogram plotter 형식).
+                all.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        /*
+         * 기준값 파일의 "{mode}.{operation}.p99" 항목과 비교. 기준값 * (1 + tolerance)를 넘으면 회귀.
+         * 기준값이 없는 항목은 비교하지 않음.
+         */
+        List<String> regressions(Properties baseline, String mode, double tolerance) {
+            List<String> regressions = new ArrayList<>();
+            for (Row row : rows) {
+                String value = baseline.getProperty(mode + "." + row.name() + ".p99");
+                if (value == null) {
+                    continue;
+                }
+                double limit = Double.parseDouble(value) * (1 + tolerance);
+                if (row.p99() > limit) {
+                    regressions.add(String.format("%s p99 %.2fms > baseline %sms (+%.0f%% = %.2fms)",
+                            row.name(), row.p99(), value, tolerance * 100, limit));
+                }
+            }
+            return regressions;
+        }
+
+        void updateBaseline(Properties baseline, String mode) {
+            for (Row row : rows) {
+                baseline.setProperty(mode + "." + row.name() + ".p99", String.format(Locale.ROOT, "%.2f", row.p99()));
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.wjc.codetest.loadtest;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.service.ProductImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 부하 테스트 실행기: ./gradlew loadTest -Pmode=closed -Pconcurrency=64 -Pduration=PT60S ...
+ * 1. CodeTestApplication을 임의 포트로 기동하고 상품 N건을 M개 카테고리에 적재.
+ * 2. mix 비율로 create/get/update/delete/list/category 요청을 보냄.
+ *    - closed: concurrency명의 사용자가 응답을 받은 직후 다음 요청 (처리 능력 측정).
+ *    - open  : 응답과 무관하게 rate(req/s) 간격으로 요청. 지연은 "예정된 전송 시각"부터 측정하여
+ *              서버가 밀릴 때 대기 시간이 빠지는 coordinated omission을 보정.
+ * 3. 작업별 처리량과 p50/p95/p99/p999를 출력하고 build/reports/loadtest 에 기록.
+ * 4. p99가 기준값 파일 대비 허용치를 넘거나 오류율이 1%를 넘으면 종료 코드 1 (빌드 실패).
+ *    해당 mode의 기준값이 하나도 없으면 비교 자체가 무의미하므로(게이트가 항상 통과) 부하를 걸기 전에 종료 코드 1.
+ *    -PupdateBaseline=true 로 기준값을 기록하고 파일을 커밋해야 게이트가 동작.
+ */
+public final class LoadTestRunner {
+
+    private static final int SEED_CHUNK = 50_000;
+    private static final double MAX_ERROR_RATE = 0.01;
+    // open 모드에서 응답이 밀릴 때 클라이언트 자원이 무한히 늘지 않도록 동시 진행 요청 수 상한 (초과분은 오류).
+    private static final int MAX_OUTSTANDING = 20_000;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String mode = settings.mode().name().toLowerCase(Locale.ROOT);
+        Properties baseline = loadBaseline(settings);
+        if (!settings.updateBaseline() && !hasBaseline(baseline, mode)) {
+            System.err.printf("latency SLO failed :: no p99 baseline for mode=%s in %s%n", mode, settings.baseline());
+            System.err.printf("record it on the reference machine with ./gradlew loadTest -Pmode=%s -PupdateBaseline=true "
+                    + "(same load settings) and commit the file%n", mode);
+            System.exit(1);
+        }
+        LatencyReport.Summary summary;
+        try (ConfigurableApplicationContext context = start()) {
+            long[] seededIds = seed(context, settings.products(), settings.categories());
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            Workload workload = new Workload(port, seededIds, settings.categories(), settings.mix());
+            LatencyReport report = new LatencyReport();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(executor)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                if (settings.mode() == LoadTestSettings.Mode.OPEN) {
+                    runOpenLoop(settings, workload, client, executor, report);
+                } else {
+                    runClosedLoop(settings, workload, client, executor, report);
+                }
+            }
+            summary = report.summarize(settings.duration());
+        }
+
+        System.exit(evaluate(settings, summary, baseline));
+    }
+
+    private static void runOpenLoop(LoadTestSettings settings, Workload workload, HttpClient client,
+                                    ExecutorService executor, LatencyReport report) {
+        long interval = 1_000_000_000L / settings.rate();
+        long started = System.nanoTime();
+        long measureFrom = started + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        Semaphore outstanding = new Semaphore(MAX_OUTSTANDING);
+
+        for (long i = 0; ; i++) {
+            long intended = started + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Call call = workload.next();
+            boolean record = intended >= measureFrom;
+            if (!outstanding.tryAcquire()) {
+                if (record) {
+                    report.error(call.operation());
+                }
+                continue;
+            }
+            executor.submit(() -> {
+                try {
+                    execute(workload, client, report, call, intended, record);
+                } finally {
+                    outstanding.release();
+                }
+            });
+        }
+    }
+
+    private static void runClosedLoop(LoadTestSettings settings, Workload workload, HttpClient client,
+                                      ExecutorService executor, LatencyReport report) {
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            executor.submit(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    execute(workload, client, report, workload.next(), now, now >= measureFrom);
+                }
+            });
+        }
+    }
+
+    private static void execute(Workload workload, HttpClient client, LatencyReport report,
+                                Workload.Call call, long startedNanos, boolean record) {
+        try {
+            HttpResponse<byte[]> response = client.send(call.request(), HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - startedNanos;
+            workload.onResponse(call, response);
+            if (!record) {
+                return;
+            }
+            if (response.statusCode() / 100 == 2) {
+                report.success(call.operation(), latency);
+            } else {
+                report.error(call.operation());
+            }
+        } catch (IOException e) {
+            if (record) {
+                report.error(call.operation());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int evaluate(LoadTestSettings settings, LatencyReport.Summary summary, Properties baseline) throws IOException {
+        String mode = settings.mode().name().toLowerCase(Locale.ROOT);
+        String title = String.format("load test :: mode=%s, products=%d, categories=%d, %s, duration=%s, mix=%s",
+                mode, settings.products(), settings.categories(),
+                settings.mode() == LoadTestSettings.Mode.OPEN ? "rate=" + settings.rate() + "/s" : "concurrency=" + settings.concurrency(),
+                settings.duration(), settings.mix());
+        summary.print(System.out, title);
+
+        Files.createDirectories(settings.reportDir());
+        try (OutputStream stream = Files.newOutputStream(settings.reportDir().resolve(mode + ".txt"));
+             PrintStream out = new PrintStream(stream, true, StandardCharsets.UTF_8)) {
+            summary.print(out, title);
+        }
+        summary.writeHistogram(settings.reportDir().resolve(mode + ".hgrm"));
+
+        if (settings.updateBaseline()) {
+            summary.updateBaseline(baseline, mode);
+            try (OutputStream out = Files.newOutputStream(settings.baseline())) {
+                baseline.store(out, "p99 baseline (ms) :: ./gradlew loadTest -PupdateBaseline=true");
+            }
+            System.out.println("baseline updated :: " + settings.baseline());
+            return 0;
+        }
+
+        List<String> failures = new ArrayList<>(summary.regressions(baseline, mode, settings.tolerance()));
+        LatencyReport.Row all = summary.row(LatencyReport.ALL);
+        if (all.errorRate() > MAX_ERROR_RATE) {
+            failures.add(String.format("error rate %.2f%% > %.2f%%", all.errorRate() * 100, MAX_ERROR_RATE * 100));
+        }
+        if (failures.isEmpty()) {
+            System.out.println("latency SLO passed");
+            return 0;
+        }
+        failures.forEach(failure -> System.err.println("latency SLO failed :: " + failure));
+        return 1;
+    }
+
+    private static Properties loadBaseline(LoadTestSettings settings) throws IOException {
+        Properties baseline = new Properties();
+        if (Files.exists(settings.baseline())) {
+            try (InputStream in = Files.newInputStream(settings.baseline())) {
+                baseline.load(in);
+            }
+        }
+        return baseline;
+    }
+
+    private static boolean hasBaseline(Properties baseline, String mode) {
+        return baseline.stringPropertyNames().stream()
+                .anyMatch(key -> key.startsWith(mode + ".") && key.endsWith(".p99"));
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CodeTestApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    /*
+     * 적재 순번 n의 상품은 category(n % categories)에 적재. 반환하는 id는 적재 순서(= id 오름차순).
+     */
+    private static long[] seed(ConfigurableApplicationContext context, int rows, int categories) throws IOException {
+        ProductImportService importService = context.getBean(ProductImportService.class);
+        int written = 0;
+        while (written < rows) {
+            int chunk = Math.min(SEED_CHUNK, rows - written);
+            StringBuilder ndjson = new StringBuilder(chunk * 48);
+            for (int i = 0; i < chunk; i++) {
+                int n = written + i;
+                ndjson.append("{\"category\":\"").append(Workload.category(n % categories))
+                        .append("\",\"name\":\"product-").append(n).append("\"}\n");
+            }
+            importService.importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+            written += chunk;
+        }
+        List<Long> ids = context.getBean(JdbcTemplate.class).queryForList("SELECT product_id FROM product ORDER BY product_id", Long.class);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
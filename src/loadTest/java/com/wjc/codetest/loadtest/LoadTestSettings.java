@@ -0,0 +1,77 @@
+package com.wjc.codetest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * 부하 테스트 설정. gradle 프로퍼티(-P)가 시스템 프로퍼티(loadtest.*)로 전달됨.
+ *
+ * mode        : open(고정 도착률) / closed(고정 동시 사용자)
+ * products    : 기동 후 적재할 상품 수 (N)
+ * categories  : 상품을 나눌 카테고리 수 (M)
+ * rate        : open 모드 초당 요청 수
+ * concurrency : closed 모드 동시 사용자 수
+ * duration    : 측정 시간, warmup: 측정 전 예열 시간 (기록하지 않음)
+ * mix         : 작업 비율 (예: get=40,list=20,category=10,create=15,update=10,delete=5)
+ * baseline    : p99 기준값 파일, tolerance: 허용 증가율 (0.2 = 20%)
+ * updateBaseline : true면 비교하지 않고 측정값으로 기준값 파일을 갱신
+ */
+record LoadTestSettings(Mode mode,
+                        int products,
+                        int categories,
+                        int rate,
+                        int concurrency,
+                        Duration duration,
+                        Duration warmup,
+                        Map<Operation, Integer> mix,
+                        Path baseline,
+                        double tolerance,
+                        boolean updateBaseline,
+                        Path reportDir) {
+
+    enum Mode {
+        OPEN, CLOSED
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Mode.valueOf(property("mode", "closed").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(property("products", "100000")),
+                Integer.parseInt(property("categories", "10")),
+                Integer.parseInt(property("rate", "500")),
+                Integer.parseInt(property("concurrency", "32")),
+                Duration.parse(property("duration", "PT30S")),
+                Duration.parse(property("warmup", "PT10S")),
+                parseMix(property("mix", "get=40,list=20,category=10,create=15,update=10,delete=5")),
+                Path.of(property("baseline", "src/loadTest/resources/p99-baseline.properties")),
+                Double.parseDouble(property("tolerance", "0.2")),
+                Boolean.parseBoolean(property("updateBaseline", "false")),
+                Path.of(property("reportDir", "build/reports/loadtest")));
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must contain at least one operation");
+        }
+        return mix;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,8 @@
+package com.wjc.codetest.loadtest;
+
+/*
+ * 부하 테스트가 호출하는 ProductController 작업.
+ */
+enum Operation {
+    CREATE, GET, UPDATE, DELETE, LIST, CATEGORY
+}
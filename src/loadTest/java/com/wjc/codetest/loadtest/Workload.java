@@ -0,0 +1,120 @@
+package com.wjc.codetest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * 작업 비율(mix)에 따라 다음 요청을 만들고, 응답에서 이후 요청에 필요한 상태를 갱신.
+ * - GET/UPDATE: 적재한 상품(삭제하지 않음) 중 임의 선택. UPDATE는 카테고리를 유지하고 이름만 변경.
+ *   (같은 상품을 동시에 수정하면 낙관적 락 충돌 409가 날 수 있으며 오류로 집계)
+ * - DELETE: 부하 중 CREATE로 만든 상품만 삭제 (적재 상품이 사라져 GET이 실패하지 않도록).
+ *   삭제할 상품이 아직 없으면 CREATE로 대체.
+ * - LIST: 임의 카테고리의 앞쪽 페이지 (offset 페이징), CATEGORY: 카테고리 목록.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+
+    private final String baseUrl;
+    private final long[] seededIds;
+    private final int categories;
+    private final int pagesPerCategory;
+    private final Operation[] wheel;
+    private final ConcurrentLinkedQueue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    Workload(int port, long[] seededIds, int categories, Map<Operation, Integer> mix) {
+        this.baseUrl = "http://localhost:" + port;
+        this.seededIds = seededIds;
+        this.categories = categories;
+        this.pagesPerCategory = Math.max(1, Math.min(50, seededIds.length / categories / PAGE_SIZE));
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.wheel = slots.toArray(Operation[]::new);
+    }
+
+    static String category(int index) {
+        return "category-" + index;
+    }
+
+    Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = wheel[random.nextInt(wheel.length)];
+        return switch (operation) {
+            case GET -> new Call(operation, get("/get/product/by/" + randomSeededId(random)));
+            case UPDATE -> {
+                // 적재 순번 i의 상품은 category(i % categories)에 적재됨 (seededIds는 적재 순서 = id 오름차순).
+                int index = random.nextInt(seededIds.length);
+                yield new Call(operation, post("/update/product",
+                        "{\"id\":" + seededIds[index] + ",\"category\":\"" + category(index % categories)
+                                + "\",\"name\":\"updated-" + random.nextInt(1_000_000) + "\"}"));
+            }
+            case DELETE -> {
+                Long id = deletable.poll();
+                yield id == null ? create(random) : new Call(operation, post("/delete/product/" + id, null));
+            }
+            case CREATE -> create(random);
+            case LIST -> new Call(operation, post("/product/list",
+                    "{\"category\":\"" + category(random.nextInt(categories)) + "\",\"page\":" + random.nextInt(pagesPerCategory)
+                            + ",\"size\":" + PAGE_SIZE + "}"));
+            case CATEGORY -> new Call(operation, get("/product/category/list"));
+        };
+    }
+
+    void onResponse(Call call, HttpResponse<byte[]> response) {
+        if (call.operation() != Operation.CREATE || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            deletable.add(body.get("id").asLong());
+        } catch (IOException e) {
+            // 응답 본문을 읽을 수 없으면 삭제 대상에서 제외할 뿐 측정에는 영향 없음.
+        }
+    }
+
+    private Call create(ThreadLocalRandom random) {
+        return new Call(Operation.CREATE, post("/create/product",
+                "{\"category\":\"" + category(random.nextInt(categories)) + "\",\"name\":\"load-" + random.nextInt(1_000_000) + "\"}"));
+    }
+
+    private long randomSeededId(ThreadLocalRandom random) {
+        return seededIds[random.nextInt(seededIds.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (json == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    record Call(Operation operation, HttpRequest request) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.wjc.codetest;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/*
+ * 서비스 간 호출용 바이너리 응답 형식 (Accept 헤더로 선택, 기본은 JSON).
+ * - application/cbor
+ * - application/x-jackson-smile
+ * 필드 이름/구조는 JSON과 같고(@JsonIgnore 등 동일 적용), 숫자/길이를 바이너리로 기록하여 크기와 직렬화 비용을 줄임.
+ * Smile은 반복되는 필드명/문자열 값(category 등)을 참조로 기록하여 목록 응답에서 더 작음.
+ * 스키마/코드 생성이 필요 없어 기존 응답 DTO를 그대로 사용 (protobuf 대비 선택 이유).
+ *
+ * 스프링 부트의 Jackson 설정(spring.jackson.*)을 그대로 적용하도록 자동 구성된 builder로 생성.
+ * HttpMessageConverter 빈은 부트가 기본 컨버터 목록에 추가함.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = new SmileFactory();
+        // 같은 문자열 값(category)을 한 번만 기록하고 이후에는 참조.
+        smileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(smileFactory).build());
+    }
+}
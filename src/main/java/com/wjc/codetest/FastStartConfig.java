@@ -0,0 +1,42 @@
+package com.wjc.codetest;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/*
+ * spring.main.lazy-initialization=true(fast-start 프로필)로 실행해도 즉시 생성해야 하는 빈 지정.
+ * 1. 이벤트 리스너로 파생 데이터를 유지하는 빈(캐시, 카테고리 레지스트리/카운터, 검색 색인 등):
+ *    첫 커밋 이벤트 시점에 생성되면 @PostConstruct 초기 적재가 방금 커밋된 행을 이미 포함하고,
+ *    이어서 같은 이벤트가 한 번 더 반영되어 중복 집계됨.
+ * 2. @Scheduled 작업: 빈이 생성되지 않으면 스케줄 등록 자체가 되지 않음.
+ * 그 외 빈(컨트롤러, 서비스, 웹/Jackson 구성 등)은 첫 요청 시점에 생성.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStatefulBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && requiresEagerInit(ClassUtils.getUserClass(beanType));
+    }
+
+    private static boolean requiresEagerInit(Class<?> beanType) {
+        if (!beanType.getName().startsWith("com.wjc.codetest")) {
+            return false;
+        }
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
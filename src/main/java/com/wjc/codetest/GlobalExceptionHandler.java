@@ -1,8 +1,13 @@
 package com.wjc.codetest;
 
+import com.wjc.codetest.common.BackpressureException;
+import com.wjc.codetest.common.OverloadedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -53,4 +58,86 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
+
+    /*
+     * 잘못된 요청 값(페이지 크기, 커서 토큰 등)은 서버 오류가 아니므로 400으로 구분.
+     * RuntimeException 핸들러보다 구체적인 타입이라 우선 적용됨.
+     */
+    @ResponseBody
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> illegalArgumentException(IllegalArgumentException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.BAD_REQUEST,
+                "illegalArgumentException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    /*
+     * 낙관적 락 충돌.
+     * - ObjectOptimisticLockingFailureException: 조회 이후 커밋 전에 다른 트랜잭션이 먼저 수정 (flush 시 버전 검사 실패) -> 409
+     * - 그 외 OptimisticLockingFailureException: If-Match로 받은 버전이 현재 버전과 다름 -> 412
+     */
+    @ResponseBody
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> optimisticLockConflict(ObjectOptimisticLockingFailureException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.CONFLICT,
+                "optimisticLockConflict",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("product was modified concurrently");
+    }
+
+    @ResponseBody
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> preconditionFailed(OptimisticLockingFailureException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.PRECONDITION_FAILED,
+                "preconditionFailed",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+    }
+
+    /*
+     * 처리 한도 초과(큐 포화 등). 클라이언트가 재시도 시점을 알 수 있도록 Retry-After(초)를 함께 응답.
+     */
+    @ResponseBody
+    @ExceptionHandler(BackpressureException.class)
+    public ResponseEntity<String> tooManyRequests(BackpressureException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.TOO_MANY_REQUESTS,
+                "backpressure",
+                e.getMessage()
+        );
+
+        long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
+    /*
+     * 서버 과부하로 거절(동시 처리 한도 초과). 429와 달리 클라이언트 요청량이 아니라 서버 상태 문제이므로 503.
+     * BackpressureException의 하위 타입이라 더 구체적인 이 핸들러가 우선 적용됨.
+     */
+    @ResponseBody
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<String> serviceUnavailable(OverloadedException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "overloaded",
+                e.getMessage()
+        );
+
+        long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
 }
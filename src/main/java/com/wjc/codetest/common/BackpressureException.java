@@ -0,0 +1,20 @@
+package com.wjc.codetest.common;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/*
+ * 처리 한도를 넘어 요청을 받지 않는 경우(큐 포화 등). 서버 오류가 아니라 잠시 후 재시도 대상이므로
+ * GlobalExceptionHandler에서 429 + Retry-After로 응답.
+ */
+@Getter
+public class BackpressureException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public BackpressureException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
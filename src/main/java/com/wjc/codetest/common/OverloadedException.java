@@ -0,0 +1,14 @@
+package com.wjc.codetest.common;
+
+import java.time.Duration;
+
+/*
+ * 서버 과부하로 요청을 처리하지 않고 바로 거절(load shedding)하는 경우.
+ * 클라이언트 요청량 제한(429)이 아니라 서버 측 처리 한도 초과이므로 GlobalExceptionHandler에서 503 + Retry-After로 응답.
+ */
+public class OverloadedException extends BackpressureException {
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
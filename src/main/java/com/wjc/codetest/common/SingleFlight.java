@@ -0,0 +1,92 @@
+package com.wjc.codetest.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * 동일 키에 대한 동시 조회 병합(single-flight).
+ * 같은 키로 이미 실행 중인 조회가 있으면 새로 실행하지 않고 그 결과(또는 예외)를 함께 받음.
+ * 완료되면 즉시 키를 비우므로 결과를 보관하지 않음(캐시가 아님).
+ *
+ * 쓰기 이후 호출자가 쓰기 이전에 시작된 조회에 합류하지 않도록, 변경 시 forget()으로 실행 중인 조회를 분리해야 함.
+ *
+ * 메트릭: product.singleflight.calls{name, result=executed|coalesced}
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("product.singleflight.calls", executed, LongAdder::sum)
+                .tags("name", name, "result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("product.singleflight.calls", coalesced, LongAdder::sum)
+                .tags("name", name, "result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // 대기 중인 모든 호출자에게 같은 예외 전달.
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /*
+     * 실행 중인 조회를 분리. 이미 합류한 호출자는 기존 결과를 받고, 이후 호출자는 새로 실행.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
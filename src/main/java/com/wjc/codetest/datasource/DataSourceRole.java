@@ -0,0 +1,5 @@
+package com.wjc.codetest.datasource;
+
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
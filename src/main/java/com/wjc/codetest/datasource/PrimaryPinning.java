@@ -0,0 +1,25 @@
+package com.wjc.codetest.datasource;
+
+/*
+ * 현재 스레드(요청)의 조회를 primary로 고정하는 플래그.
+ * 쓰기 직후의 클라이언트가 복제 지연된 레플리카에서 자신이 쓰기 전 데이터를 읽지 않도록(read-your-writes) 사용.
+ */
+public final class PrimaryPinning {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPinning() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+}
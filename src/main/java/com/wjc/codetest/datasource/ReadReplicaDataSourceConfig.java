@@ -0,0 +1,46 @@
+package com.wjc.codetest.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/*
+ * 문제: 조회 포함 모든 트래픽이 단일 DataSource(jdbc:h2:mem:codetest)로 몰림.
+ * 개선안: primary / replica 두 풀을 두고 ReadWriteRoutingDataSource로 readOnly 트랜잭션을 레플리카로 분산.
+ * - primary: 기존 spring.datasource.* / spring.datasource.hikari.* 설정 그대로 사용.
+ * - replica: product.datasource.replica.hikari.* (로컬/CI에서는 별도 H2 인스턴스 + ProductReplicationFeed로 동기화)
+ * product.datasource.replica.enabled=true 일 때만 적용 (기본은 기존 단일 DataSource).
+ *
+ * 두 풀은 타입 주입 후보에서 제외(defaultCandidate=false)하여, JPA/Flyway 등은 @Primary 라우팅 DataSource만 사용.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "product.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("product.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+}
@@ -0,0 +1,27 @@
+package com.wjc.codetest.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+ * readOnly 트랜잭션은 레플리카, 그 외(쓰기 트랜잭션, 트랜잭션 밖, primary 고정 요청)는 primary로 라우팅.
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 동기화되지 않으므로
+ * LazyConnectionDataSourceProxy로 감싸 첫 SQL 실행 시점에 커넥션을 고르도록 사용해야 함.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PrimaryPinning.isPinned();
+        return replica ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+    }
+}
@@ -0,0 +1,92 @@
+package com.wjc.codetest.datasource;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+ * read-your-writes: 쓰기를 커밋한 클라이언트는 pin-duration 동안 primary에서만 조회.
+ * - 쓰기 커밋 시 응답에 만료 시각(epoch millis) 쿠키를 내려주고, 같은 요청의 이후 조회도 primary로 고정.
+ * - 다음 요청에서 쿠키의 만료 시각이 남아 있으면 요청 전체를 primary로 고정.
+ * 상태를 서버에 두지 않으므로 인스턴스가 여러 대여도 동작. 쿠키를 조작해도 primary 조회가 늘어날 뿐 정합성에는 영향 없음.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PIN_COOKIE = "primary-pin-until";
+
+    private final Duration pinDuration;
+
+    public ReadYourWritesFilter(@Value("${product.datasource.read-your-writes.pin-duration:PT5S}") Duration pinDuration) {
+        this.pinDuration = pinDuration;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (pinnedUntil(request) > System.currentTimeMillis()) {
+            PrimaryPinning.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryPinning.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        pinCurrentClient();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        pinCurrentClient();
+    }
+
+    // 요청 스레드가 아닌 곳(비동기 적재 flusher 등)의 커밋은 고정할 클라이언트가 없으므로 무시.
+    private void pinCurrentClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            return;
+        }
+        PrimaryPinning.pin();
+        Cookie cookie = new Cookie(PIN_COOKIE, String.valueOf(System.currentTimeMillis() + pinDuration.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, pinDuration.toSeconds() + 1));
+        attributes.getResponse().addCookie(cookie);
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
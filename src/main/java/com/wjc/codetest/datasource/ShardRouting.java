@@ -0,0 +1,68 @@
+package com.wjc.codetest.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+ * 현재 스레드의 SQL을 보낼 샤드 번호. ShardRoutingDataSource가 커넥션을 고를 때 참조.
+ * 트랜잭션은 첫 SQL 시점의 샤드 커넥션을 끝까지 사용하므로, 샤드는 트랜잭션의 첫 SQL "전에" 정해야 함.
+ *
+ * - call          : 트랜잭션 밖에서 action 동안만 지정 (action 안에서 시작한 트랜잭션이 해당 샤드 사용).
+ * - bindToTransaction : 진행 중인 트랜잭션이 끝날 때까지 지정 (커밋 시 flush되는 SQL까지 같은 샤드로).
+ */
+public final class ShardRouting {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private ShardRouting() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 진행 중인 트랜잭션에 참여하면 이미 정해진 샤드의 커넥션을 사용하게 됨.
+            throw new IllegalStateException("shard must be selected before the transaction begins");
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void bindToTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("no transaction to bind shard " + shard);
+        }
+        // 같은 트랜잭션에서 여러 번 지정해도 복원은 트랜잭션 시작 전 값으로 한 번만.
+        if (!TransactionSynchronizationManager.hasResource(TRANSACTION_KEY)) {
+            Optional<Integer> previous = Optional.ofNullable(CURRENT.get());
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, previous);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                    restore(previous.orElse(null));
+                }
+            });
+        }
+        CURRENT.set(shard);
+    }
+
+    private static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
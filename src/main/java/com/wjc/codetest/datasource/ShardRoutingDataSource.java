@@ -0,0 +1,32 @@
+package com.wjc.codetest.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * ShardRouting에 지정된 샤드로 라우팅. 지정이 없으면(스키마 검증, Flyway 등 상품 조회/변경 외의 SQL) 0번 샤드.
+ * 트랜잭션 시작 시점이 아니라 첫 SQL 시점에 샤드를 고르도록 LazyConnectionDataSourceProxy로 감싸서 사용.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        // 잘못된 샤드 번호가 기본 샤드로 조용히 대체되지 않도록.
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouting.current();
+    }
+}
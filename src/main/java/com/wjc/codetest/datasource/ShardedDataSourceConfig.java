@@ -0,0 +1,92 @@
+package com.wjc.codetest.datasource;
+
+import com.wjc.codetest.monitoring.MeteredDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 문제: 단일 DataSource(H2/MySQL 모드)가 저장 용량/쓰기 처리량의 상한.
+ * 개선안(선택): 상품을 category 해시로 N개 DataSource에 나누어 저장 (product.datasource.shards.enabled=true).
+ * - 샤드 선택과 여러 샤드 병렬 조회(scatter-gather)는 ProductShards, 커넥션 라우팅은 ShardRoutingDataSource.
+ * - 샤드마다 같은 Flyway 마이그레이션 적용.
+ * - 식별자 전역 유일성: 샤드 k의 product_seq를 k * 2^40 구간에서 시작하도록 조정하여 샤드 간 id 구간이 겹치지 않음.
+ *   카테고리 변경으로 행이 다른 샤드로 옮겨가도 id는 그대로 유지 (id로 샤드를 계산하지 않음).
+ *
+ * url-template의 {shard}를 샤드 번호로 치환. 계정/드라이버는 spring.datasource.* 를 공유.
+ * 레플리카 라우팅(product.datasource.replica.enabled)과 함께 사용할 수 없음.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "product.datasource.shards", name = "enabled", havingValue = "true")
+public class ShardedDataSourceConfig {
+
+    // 샤드당 id 구간 크기. 샤드 하나가 약 1.1조 개의 id를 사용할 수 있음.
+    static final long ID_RANGE_PER_SHARD = 1L << 40;
+    // Product의 @SequenceGenerator allocationSize와 같은 값 (V1 마이그레이션의 INCREMENT BY).
+    private static final long SEQUENCE_INCREMENT = 50;
+
+    @Bean(destroyMethod = "close")
+    public ShardedDataSources shardedDataSources(DataSourceProperties properties,
+                                                 @Value("${product.datasource.shards.count}") int count,
+                                                 @Value("${product.datasource.shards.url-template}") String urlTemplate,
+                                                 @Value("${product.datasource.shards.maximum-pool-size:10}") int maximumPoolSize,
+                                                 @Value("${product.datasource.replica.enabled:false}") boolean replicaEnabled) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("product.datasource.shards and product.datasource.replica cannot be enabled together");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("product.datasource.shards.count must be greater than 0");
+        }
+
+        List<MeteredDataSource> shards = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(urlTemplate.replace("{shard}", String.valueOf(shard)));
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setPoolName("shard-" + shard);
+            pool.setMaximumPoolSize(maximumPoolSize);
+
+            migrate(pool, shard);
+            shards.add(new MeteredDataSource(pool));
+        }
+        log.info("product shards :: count={}, url-template={}", count, urlTemplate);
+        return new ShardedDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardedDataSources shards) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards.all()));
+    }
+
+    private static void migrate(DataSource shard, int index) {
+        Flyway.configure()
+                .dataSource(shard)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        // 이미 구간 안의 값을 발급 중이면 그대로 둠 (재기동 시 이전 id 재사용 방지). 확인용 조회로 값 하나는 건너뜀.
+        long base = index * ID_RANGE_PER_SHARD + SEQUENCE_INCREMENT;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR product_seq", Long.class);
+        if (next != null && next < base) {
+            jdbcTemplate.execute("ALTER SEQUENCE product_seq RESTART WITH " + base);
+        }
+    }
+}
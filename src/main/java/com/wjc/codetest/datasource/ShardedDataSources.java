@@ -0,0 +1,38 @@
+package com.wjc.codetest.datasource;
+
+import com.wjc.codetest.monitoring.MeteredDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/*
+ * 샤드 DataSource 목록 (인덱스 = 샤드 번호). 샤딩 모드(ShardedDataSourceConfig)에서만 빈으로 등록.
+ * DataSource 타입이 아니므로 JPA/Flyway 등의 DataSource 주입 후보가 되지 않음.
+ */
+public final class ShardedDataSources implements AutoCloseable {
+
+    private final List<MeteredDataSource> shards;
+
+    ShardedDataSources(List<MeteredDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    List<MeteredDataSource> all() {
+        return shards;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (MeteredDataSource shard : shards) {
+            shard.close();
+        }
+    }
+}
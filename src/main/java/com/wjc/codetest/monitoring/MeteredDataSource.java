@@ -0,0 +1,133 @@
+package com.wjc.codetest.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+ * 문제: 엔드포인트별 DB 비용을 확인할 방법이 show-sql(stdout 출력)뿐이며, show-sql 자체가 처리량을 떨어뜨림.
+ * 개선안: DataSource -> Connection -> Statement -> ResultSet을 JDK 동적 프록시로 감싸
+ * execute* 호출 수/소요 시간과 ResultSet.next() 행 수를 실행 스레드에 연결된 RequestDbStatistics에 기록.
+ * 요청 스레드 외에 RequestDbStatistics.propagate로 감싼 작업 스레드(샤드 병렬 조회 등)의 SQL도 같은 요청에 집계.
+ * 통계가 연결되지 않은 스레드(기동, 백그라운드 작업)에서는 추가 비용 없이 위임만 함.
+ */
+public class MeteredDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public MeteredDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    // 원본 풀(Hikari)을 컨텍스트 종료 시 함께 닫기 위해 위임.
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = MeteredDataSource.invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, new StatementHandler(statement));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, new StatementHandler(statement));
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, new StatementHandler(statement));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+
+        private StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            RequestDbStatistics statistics = RequestDbStatistics.current();
+            Object result;
+            if (statistics != null && method.getName().startsWith("execute")) {
+                long started = System.nanoTime();
+                try {
+                    result = MeteredDataSource.invoke(target, method, args);
+                } finally {
+                    statistics.recordStatement(System.nanoTime() - started);
+                }
+            } else {
+                result = MeteredDataSource.invoke(target, method, args);
+            }
+
+            if (statistics != null && result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, resultSet, new ResultSetHandler(resultSet, statistics));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final RequestDbStatistics statistics;
+
+        private ResultSetHandler(ResultSet target, RequestDbStatistics statistics) {
+            this.target = target;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = MeteredDataSource.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                statistics.recordRow();
+            }
+            return result;
+        }
+    }
+}
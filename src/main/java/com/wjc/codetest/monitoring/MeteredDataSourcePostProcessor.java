@@ -0,0 +1,24 @@
+package com.wjc.codetest.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/*
+ * 자동 구성된 DataSource(Hikari)를 MeteredDataSource로 감쌈.
+ * EntityManagerFactory 등 모든 사용처가 감싼 DataSource를 주입받도록 BeanPostProcessor로 처리.
+ * 위임 DataSource(레플리카 라우팅 프록시 등)는 대상 풀이 이미 감싸져 있으므로 중복 집계하지 않도록 제외.
+ */
+@Component
+public class MeteredDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+            return new MeteredDataSource(dataSource);
+        }
+        return bean;
+    }
+}
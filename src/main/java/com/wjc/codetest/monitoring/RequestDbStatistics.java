@@ -0,0 +1,82 @@
+package com.wjc.codetest.monitoring;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 요청 1건 동안 실행된 SQL 통계 (statement 수, 조회 행 수, DB 소요 시간).
+ * 요청 스레드의 ThreadLocal로 요청 단위 집계.
+ * 요청 처리 중 다른 스레드에서 실행하는 SQL(샤딩 모드의 여러 샤드 병렬 조회 등)은 작업을 propagate로 감싸
+ * 같은 통계에 기록. 여러 스레드가 동시에 기록할 수 있으므로 LongAdder 사용. 이때 DB 시간은 스레드별 합계라
+ * 요청 지연보다 클 수 있음.
+ * 요청 밖(기동, 백그라운드 작업)에서 실행된 SQL은 집계하지 않음.
+ */
+public final class RequestDbStatistics {
+
+    private static final ThreadLocal<RequestDbStatistics> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+
+    private RequestDbStatistics() {
+    }
+
+    static RequestDbStatistics begin() {
+        RequestDbStatistics statistics = new RequestDbStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestDbStatistics current() {
+        return CURRENT.get();
+    }
+
+    /*
+     * 현재 요청의 통계를 다른 스레드에서 실행할 task에 연결. 요청 밖에서 호출하면 task를 그대로 반환.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestDbStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            RequestDbStatistics previous = CURRENT.get();
+            CURRENT.set(statistics);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements.increment();
+        dbNanos.add(elapsedNanos);
+    }
+
+    void recordRow() {
+        rows.increment();
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long dbNanos() {
+        return dbNanos.sum();
+    }
+}
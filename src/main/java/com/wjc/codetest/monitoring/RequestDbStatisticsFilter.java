@@ -0,0 +1,100 @@
+package com.wjc.codetest.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 요청 단위 SQL 통계와 엔드포인트별 지연 시간 기록.
+ * - product.request.latency : 엔드포인트별 지연 (p50/p95/p99)
+ * - product.request.db.statements / product.request.db.rows : 요청당 SQL 실행 수 / 조회 행 수
+ * - product.request.db.time : 요청당 DB 소요 시간
+ * - product.request.db.budget.exceeded : 쿼리 예산(product.monitoring.query-budget) 초과 요청 수
+ * /actuator/metrics/{name}?tag=endpoint:{pattern} 으로 조회.
+ */
+@Slf4j
+@Component
+public class RequestDbStatisticsFilter extends OncePerRequestFilter {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final int queryBudget;
+
+    public RequestDbStatisticsFilter(MeterRegistry meterRegistry,
+                                     @Value("${product.monitoring.query-budget:10}") int queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/actuator") || uri.startsWith("/h2-console");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDbStatistics statistics = RequestDbStatistics.begin();
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            RequestDbStatistics.end();
+            record(request, statistics, elapsed);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestDbStatistics statistics, long elapsedNanos) {
+        // 경로 변수를 포함한 실제 URI 대신 매핑 패턴을 태그로 사용하여 태그 카디널리티를 제한.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern == null ? "UNMAPPED" : pattern.toString();
+        String method = request.getMethod();
+
+        Timer.builder("product.request.latency")
+                .tags("endpoint", endpoint, "method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("product.request.db.statements")
+                .tags("endpoint", endpoint, "method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        DistributionSummary.builder("product.request.db.rows")
+                .tags("endpoint", endpoint, "method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(statistics.rows());
+        Timer.builder("product.request.db.time")
+                .tags("endpoint", endpoint, "method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(statistics.dbNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.statements() > queryBudget) {
+            Counter.builder("product.request.db.budget.exceeded")
+                    .tags("endpoint", endpoint, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("query budget exceeded :: {} {}, statements={} (budget={}), rows={}, dbTime={}ms, elapsed={}ms",
+                    method, endpoint, statistics.statements(), queryBudget, statistics.rows(),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.dbNanos()), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.wjc.codetest.overload;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 관측 지연 기반 AIMD 동시 처리 한도.
+ * - 요청 시작 시 처리 중인 요청 수가 한도 이상이면 바로 거절 (대기열 없음 -> 과부하 시 지연이 쌓이지 않음).
+ * - 완료 시 지연이 임계값 이하이고 한도의 절반 이상을 사용 중이면 한도 +1 (additive increase).
+ *   사용률이 낮을 때는 늘리지 않아, 한가한 동안 한도만 커졌다가 부하가 몰릴 때 한꺼번에 받아들이지 않음.
+ * - 지연이 임계값을 넘거나 실패(5xx)하면 한도 x backoffRatio (multiplicative decrease).
+ *   같은 혼잡 구간에서 느려진 요청들이 연달아 끝나며 한도를 여러 번 깎지 않도록,
+ *   마지막 감소 이후에 시작된 요청의 결과로만 다시 감소.
+ *
+ * 한도는 [minLimit, maxLimit] 범위로 제한.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // 아래 필드는 this로 보호.
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /*
+     * 한도 안이면 처리 중 수를 늘리고 true. true를 받은 호출자는 반드시 release 호출.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startedNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        onSample(startedNanos, now, inFlightAtCompletion, failed);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long startedNanos, long completedNanos, int inFlightAtCompletion, boolean failed) {
+        if (failed || completedNanos - startedNanos > latencyThresholdNanos) {
+            if (!decreased || startedNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                decreased = true;
+                lastDecreaseNanos = completedNanos;
+            }
+            return;
+        }
+        if (inFlightAtCompletion * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.wjc.codetest.overload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * 문제: 과부하 시 size가 큰 POST /product/list 요청이 요청 스레드와 DB 커넥션을 오래 점유하여,
+ *      가벼운 단건 조회까지 커넥션 대기로 타임아웃됨.
+ * 개선안: 엔드포인트 분류(EndpointClass)별 적응형 동시 처리 한도 + 초과분 즉시 거절(503 + Retry-After).
+ * - 고정 한도 대신 관측 지연으로 한도를 조정(AIMD)하여, 장비/데이터 크기가 달라도 설정을 다시 맞출 필요가 적음.
+ * - 분류별 한도가 따로라 목록 조회가 밀려도 단건 조회는 계속 처리.
+ *
+ * 설정 (product.concurrency.*):
+ * - enabled, retry-after, backoff-ratio
+ * - {list|point}.initial-limit / min-limit / max-limit / latency-threshold (기본값은 EndpointClass)
+ *
+ * 메트릭 (tag endpoint.class):
+ * - product.concurrency.limit    : 현재 한도
+ * - product.concurrency.inflight : 처리 중 요청 수
+ * - product.concurrency.requests : outcome=accepted|shed, 거절률 = shed / (accepted + shed)
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "product.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    public ConcurrencyLimitConfig(Environment environment,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${product.concurrency.retry-after:PT1S}") Duration retryAfter,
+                                  @Value("${product.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        Map<EndpointClass, ConcurrencyLimitInterceptor.Limit> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "product.concurrency." + endpointClass.key() + ".";
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.initialLimit()),
+                    environment.getProperty(prefix + "min-limit", Integer.class, endpointClass.minLimit()),
+                    environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.maxLimit()),
+                    environment.getProperty(prefix + "latency-threshold", Duration.class, endpointClass.latencyThreshold()),
+                    backoffRatio);
+
+            Gauge.builder("product.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("endpoint.class", endpointClass.key())
+                    .register(meterRegistry);
+            Gauge.builder("product.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("endpoint.class", endpointClass.key())
+                    .register(meterRegistry);
+            limits.put(endpointClass, new ConcurrencyLimitInterceptor.Limit(limiter,
+                    requests(meterRegistry, endpointClass, "accepted"),
+                    requests(meterRegistry, endpointClass, "shed")));
+        }
+        this.interceptor = new ConcurrencyLimitInterceptor(limits, retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, EndpointClass endpointClass, String outcome) {
+        return Counter.builder("product.concurrency.requests")
+                .tags("endpoint.class", endpointClass.key(), "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.wjc.codetest.overload;
+
+import com.wjc.codetest.common.OverloadedException;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/*
+ * @ConcurrencyLimited 핸들러의 동시 처리 한도 적용.
+ * - preHandle: 한도 초과 시 OverloadedException -> 컨트롤러 예외와 같은 경로(GlobalExceptionHandler)로 503 응답.
+ *   요청 본문 역직렬화/DB 조회 전에 거절하므로 거절 비용이 작음.
+ * - afterCompletion: 지연(응답 직렬화 포함)과 실패 여부(5xx)를 한도 조정에 반영.
+ */
+class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final Map<EndpointClass, Limit> limits;
+    private final Duration retryAfter;
+
+    ConcurrencyLimitInterceptor(Map<EndpointClass, Limit> limits, Duration retryAfter) {
+        this.limits = limits;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyLimited limited = method.getMethodAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            return true;
+        }
+        Limit limit = limits.get(limited.value());
+        if (!limit.limiter().tryAcquire()) {
+            limit.shed().increment();
+            throw new OverloadedException("concurrency limit exceeded :: " + limited.value().key()
+                    + " (limit=" + limit.limiter().getLimit() + ")", retryAfter);
+        }
+        limit.accepted().increment();
+        request.setAttribute(PERMIT, new Permit(limit.limiter(), System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(PERMIT) instanceof Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT);
+        permit.limiter().release(permit.startedNanos(), ex != null || response.getStatus() >= 500);
+    }
+
+    record Limit(AdaptiveConcurrencyLimiter limiter, Counter accepted, Counter shed) {
+    }
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startedNanos) {
+    }
+}
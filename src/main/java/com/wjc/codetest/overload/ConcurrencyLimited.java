@@ -0,0 +1,17 @@
+package com.wjc.codetest.overload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * 컨트롤러 메서드를 해당 분류의 적응형 동시 처리 한도(AdaptiveConcurrencyLimiter) 대상으로 지정.
+ * 한도를 넘는 요청은 핸들러 실행 전에 503 + Retry-After로 거절 (ConcurrencyLimitInterceptor).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    EndpointClass value();
+}
@@ -0,0 +1,48 @@
+package com.wjc.codetest.overload;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/*
+ * 동시 처리 한도를 따로 두는 엔드포인트 분류. 비싼 목록 조회가 몰려도 단건 조회의 한도는 줄어들지 않음.
+ * 기본값은 product.concurrency.{name}.* 로 변경 가능 (ConcurrencyLimitConfig).
+ *
+ * - LIST : 목록/검색. 요청 하나가 여러 행을 읽고 커넥션을 오래 점유.
+ * - POINT: id 단건 조회. 대부분 캐시 적중으로 짧음.
+ */
+public enum EndpointClass {
+    LIST(20, 2, 100, Duration.ofMillis(200)),
+    POINT(100, 10, 200, Duration.ofMillis(50));
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration latencyThreshold;
+
+    EndpointClass(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    int initialLimit() {
+        return initialLimit;
+    }
+
+    int minLimit() {
+        return minLimit;
+    }
+
+    int maxLimit() {
+        return maxLimit;
+    }
+
+    Duration latencyThreshold() {
+        return latencyThreshold;
+    }
+}
@@ -1,16 +1,44 @@
 package com.wjc.codetest.product.controller;
 
+import com.wjc.codetest.overload.ConcurrencyLimited;
+import com.wjc.codetest.overload.EndpointClass;
 import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.DeleteCategoryRequest;
+import com.wjc.codetest.product.model.request.DeleteProductsRequest;
+import com.wjc.codetest.product.model.request.ExportFormat;
 import com.wjc.codetest.product.model.request.GetProductListRequest;
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.RenameCategoryRequest;
 import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.BulkChangeResponse;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import com.wjc.codetest.product.model.response.ProductCacheStats;
+import com.wjc.codetest.product.model.response.ProductImportReport;
+import com.wjc.codetest.product.model.response.ProductIngestionStatus;
 import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.service.ProductChangeFeed;
+import com.wjc.codetest.product.service.ProductExportService;
+import com.wjc.codetest.product.service.ProductImportService;
+import com.wjc.codetest.product.service.ProductIngestionQueue;
 import com.wjc.codetest.product.service.ProductService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -25,7 +53,20 @@ import java.util.List;
 @RequestMapping
 @RequiredArgsConstructor
 public class ProductController {
+    // 서비스 간 호출용 바이너리 형식(BinaryFormatConfig). Accept 헤더가 없으면 첫 번째(JSON)로 응답.
+    private static final String SMILE_VALUE = "application/x-jackson-smile";
+    // produces 순서와 같음. 형식마다 본문 바이트가 다르므로 ETag를 형식별로 구분 (listFormat).
+    private static final List<MediaType> LIST_FORMATS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, MediaType.parseMediaType(SMILE_VALUE));
+    // 카탈로그 ETag의 표현 키 (목록 조회는 GetProductListRequest.representationKey).
+    private static final String CATEGORIES_REPRESENTATION = "categories";
+    private static final String CATEGORY_STATS_REPRESENTATION = "category-stats";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductIngestionQueue productIngestionQueue;
+    private final ProductChangeFeed productChangeFeed;
 
     /* 공통 문제:
      * 1. URL 경로에 HTTP 메서드(get, create, update, delete)를 포함하여 RESTful API 네이밍 규칙 위반.
@@ -48,9 +89,11 @@ public class ProductController {
      * 개선안: @GetMapping(value = "/get/product/by/{productId}") -> @GetMapping(value = "/{productId}")
      */
     @GetMapping(value = "/get/product/by/{productId}")
-    public ResponseEntity<Product> getProductById(@PathVariable(name = "productId") Long productId){
-        Product product = productService.getProductById(productId);
-        return ResponseEntity.ok(product);
+    @ConcurrencyLimited(EndpointClass.POINT)
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable(name = "productId") Long productId){
+        ProductResponse product = productService.getProductById(productId);
+        // GET + ETag 응답은 HttpEntityMethodProcessor가 If-None-Match와 비교하여 일치 시 본문 없이 304로 응답.
+        return ResponseEntity.ok().eTag(product.eTag()).body(product);
     }
 
     /*
@@ -93,9 +136,15 @@ public class ProductController {
      * updateProduct(@Valid @RequestBody UpdateProductRequest dto, @PathVariable(name = "productId") Long productId)
      */
     @PostMapping(value = "/update/product")
-    public ResponseEntity<Product> updateProduct(@RequestBody UpdateProductRequest dto){
+    public ResponseEntity<Product> updateProduct(@RequestBody UpdateProductRequest dto,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        // If-Match(조회 시 받은 ETag)가 있으면 해당 버전 기준으로만 수정 (불일치 시 412). "*"는 버전 확인 없음.
+        Long expectedVersion = ifMatch == null ? null : versionOf(ifMatch, dto.getId());
+        if (expectedVersion != null) {
+            dto.setVersion(expectedVersion);
+        }
         Product product = productService.update(dto);
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().eTag(ProductResponse.from(product).eTag()).body(product);
     }
 
     /*
@@ -110,18 +159,216 @@ public class ProductController {
      * 2, 3. 기본값을 자동으로 적용시키고 바인딩해주는 @PageableDefault 사용
      *
      */
-    @PostMapping(value = "/product/list")
-    public ResponseEntity<ProductListResponse> getProductListByCategory(@RequestBody GetProductListRequest dto){
-        Page<Product> productList = productService.getListByCategory(dto);
-        return ResponseEntity.ok(new ProductListResponse(productList.getContent(), productList.getTotalPages(), productList.getTotalElements(), productList.getNumber()));
+    @PostMapping(value = "/product/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SMILE_VALUE})
+    @ConcurrencyLimited(EndpointClass.LIST)
+    public ResponseEntity<?> getProductListByCategory(@RequestBody GetProductListRequest dto,
+                                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept){
+        // 카탈로그 변경이 없으면 DB를 읽지 않고 304. ETag는 반드시 조회 전에 계산.
+        // POST는 스프링의 조건부 요청 처리 대상이 아니므로 직접 비교.
+        // 모든 목록 요청이 같은 URL이므로 ETag에 요청 조건(category, 페이징 방식, page, size, after)과 응답 형식을 포함.
+        MediaType format = listFormat(accept);
+        String eTag = productService.getCatalogETag(dto.representationKey() + "|" + format);
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        // paging=CURSOR 또는 after 지정 시 keyset 페이징(count 쿼리 없음), 그 외에는 기존 offset 페이징.
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).contentType(format);
+        if (dto.isCursorPaging()) {
+            return ok.body(productService.getCursorListByCategory(dto));
+        }
+        Page<ProductResponse> productList = productService.getListByCategory(dto);
+        return ok.body(new ProductListResponse(productList.getContent(), productList.getTotalPages(), productList.getTotalElements(), productList.getNumber()));
     }
 
     /*
     * 개선안: @GetMapping(value = "/product/category/list") -> @GetMapping
     */
-    @GetMapping(value = "/product/category/list")
-    public ResponseEntity<List<String>> getProductListByCategory(){
+    @GetMapping(value = "/product/category/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<List<String>> getProductListByCategory(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept){
+        MediaType format = listFormat(accept);
+        String eTag = productService.getCatalogETag(CATEGORIES_REPRESENTATION + "|" + format);
         List<String> uniqueCategories = productService.getUniqueCategories();
-        return ResponseEntity.ok(uniqueCategories);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).contentType(format).body(uniqueCategories);
+    }
+
+    /*
+     * 카테고리별 상품 수. count 쿼리 없이 메모리 카운터에서 조회.
+     */
+    @GetMapping(value = "/product/category/stats")
+    public ResponseEntity<List<CategoryStatResponse>> getCategoryStats(){
+        String eTag = productService.getCatalogETag(CATEGORY_STATS_REPRESENTATION);
+        return ResponseEntity.ok().eTag(eTag).body(productService.getCategoryStats());
+    }
+
+    /*
+     * 카테고리 레지스트리를 DB 기준으로 재적재 (DB를 직접 수정한 경우 등).
+     */
+    @PostMapping(value = "/product/category/rebuild")
+    public ResponseEntity<List<String>> rebuildCategories(){
+        productService.rebuildCategories();
+        return ResponseEntity.ok(productService.getUniqueCategories());
+    }
+
+    /*
+     * 상품 단건 조회 캐시의 hit/miss/eviction 카운터.
+     */
+    @GetMapping(value = "/product/cache/stats")
+    public ResponseEntity<ProductCacheStats> getCacheStats(){
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
+    /*
+     * 대량 등록. JSON 배열 또는 NDJSON 본문을 스트리밍으로 읽어 chunkSize 단위로 batch insert.
+     * 청크 단위 커밋이므로 일부 청크가 실패해도 나머지는 반영되며, 결과에 청크별 처리량/실패 원인을 포함.
+     */
+    @PostMapping(value = "/product/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportReport> importProducts(InputStream body,
+                                                              @RequestParam(name = "chunkSize", required = false) Integer chunkSize) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body, chunkSize));
+    }
+
+    /*
+     * 비동기 등록. 큐에 넣고 바로 202 + trackingId 반환, 실제 저장은 백그라운드 배치 커밋.
+     * 큐가 가득 차면 429(Retry-After). 처리 결과는 Location의 상태 조회 API로 확인.
+     */
+    @PostMapping(value = "/product/ingest")
+    public ResponseEntity<ProductIngestionStatus> ingestProduct(@RequestBody CreateProductRequest dto){
+        ProductIngestionStatus status = productIngestionQueue.enqueue(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/product/ingest/" + status.trackingId()))
+                .body(status);
+    }
+
+    @GetMapping(value = "/product/ingest/{trackingId}")
+    public ResponseEntity<ProductIngestionStatus> getIngestionStatus(@PathVariable(name = "trackingId") String trackingId){
+        return ResponseEntity.of(productIngestionQueue.getStatus(trackingId));
+    }
+
+    /*
+     * 카테고리 전체 export (NDJSON/CSV). 응답 출력 스트림에 행 단위로 바로 기록하여 메모리 사용량이 행 수와 무관.
+     */
+    @GetMapping(value = "/product/export")
+    public void exportProducts(@RequestParam(name = "category") String category,
+                               @RequestParam(name = "format", required = false) String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        productExportService.export(category, exportFormat, response.getOutputStream());
+    }
+
+    /*
+     * 일괄 변경. 엔티티를 로딩하지 않고 단일 UPDATE/DELETE로 처리하며 변경된 행 수를 반환.
+     */
+    @PostMapping(value = "/product/bulk/rename-category")
+    public ResponseEntity<BulkChangeResponse> renameCategory(@RequestBody RenameCategoryRequest dto){
+        return ResponseEntity.ok(new BulkChangeResponse(productService.renameCategory(dto)));
+    }
+
+    @PostMapping(value = "/product/bulk/delete-category")
+    public ResponseEntity<BulkChangeResponse> deleteCategory(@RequestBody DeleteCategoryRequest dto){
+        return ResponseEntity.ok(new BulkChangeResponse(productService.deleteByCategory(dto)));
+    }
+
+    @PostMapping(value = "/product/bulk/delete")
+    public ResponseEntity<BulkChangeResponse> deleteProducts(@RequestBody DeleteProductsRequest dto){
+        return ResponseEntity.ok(new BulkChangeResponse(productService.deleteByIds(dto)));
+    }
+
+    /*
+     * 상품명 검색 (부분 일치, 3글자 미만은 단어 prefix). category 지정 시 해당 카테고리 안에서만 검색.
+     */
+    @GetMapping(value = "/product/search")
+    @ConcurrencyLimited(EndpointClass.LIST)
+    public ResponseEntity<ProductSearchResponse> searchProducts(@RequestParam(name = "q") String query,
+                                                                @RequestParam(name = "category", required = false) String category,
+                                                                @RequestParam(name = "page", defaultValue = "0") int page,
+                                                                @RequestParam(name = "size", defaultValue = "20") int size){
+        return ResponseEntity.ok(productService.search(query, category, page, size));
+    }
+
+    /*
+     * 커밋된 상품 변경 스트림(SSE). 목록을 주기적으로 다시 조회하는 대신 변경만 받아 반영.
+     * 재연결 시 Last-Event-ID(EventSource가 자동 전송) 또는 after로 이어 받고, category 지정 시 해당 카테고리 변경만 전송.
+     * 이어 받을 수 없으면 reset 이벤트 -> 클라이언트는 목록을 한 번 다시 조회.
+     */
+    @GetMapping(value = "/product/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(name = "category", required = false) String category,
+                                    @RequestParam(name = "after", required = false) String after,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId){
+        return productChangeFeed.subscribe(category, lastEventId != null ? lastEventId : after);
+    }
+
+    /*
+     * Accept로 목록 응답 형식을 직접 선택하고 Content-Type으로 고정 (메시지 컨버터가 다른 형식을 고르지 않음).
+     * 형식이 ETag에 포함되어야 JSON으로 받은 ETag로 CBOR를 조건부 요청해도 304가 되지 않음. 응답에는 Vary: Accept.
+     * Accept가 없거나 모든 형식을 허용하면 JSON. 받을 수 있는 형식이 없는 요청은 produces 조건에서 이미 406.
+     */
+    private static MediaType listFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        // q 값이 높은 순, 같으면 구체적인 타입 순.
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType candidate : accepted) {
+            if (candidate.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : LIST_FORMATS) {
+                if (candidate.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(eTag) || value.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * If-Match의 상품 ETag("{id}-{version}")에서 기대 버전 추출.
+     * - "*": 상품이 존재하면 버전과 무관하게 일치 -> null (버전 확인 없음).
+     * - If-Match는 강한 비교만 허용하므로 약한 ETag(W/)와 다른 상품의 ETag는 어떤 버전과도 일치하지 않도록 -1 (412).
+     * - 여러 ETag가 나열되면 이 상품의 첫 번째 강한 ETag를 사용.
+     */
+    private static Long versionOf(String ifMatch, Long productId) {
+        Long expected = -1L;
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return null;
+            }
+            if (value.startsWith("W/")) {
+                continue;
+            }
+            int separator = value.lastIndexOf('-');
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"") || separator < 2) {
+                throw new IllegalArgumentException("invalid If-Match header: " + ifMatch);
+            }
+            try {
+                long id = Long.parseLong(value.substring(1, separator));
+                long version = Long.parseLong(value.substring(separator + 1, value.length() - 1));
+                if (expected == -1L && Long.valueOf(id).equals(productId)) {
+                    expected = version;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid If-Match header: " + ifMatch);
+            }
+        }
+        return expected;
     }
-}
\ No newline at end of file
+}
@@ -12,6 +12,12 @@ import lombok.Setter;
  * 개선안: @Setter 사용을 지양하거나 수정이 필요한 필드에만 사용.
  */
 @Setter
+/*
+ * 스키마는 Flyway 마이그레이션(db/migration)으로 관리. 아래 인덱스 선언은 문서화 용도이며 실제 생성은 V2 마이그레이션.
+ */
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_category_id", columnList = "category, product_id")
+})
 public class Product {
 
     /*
@@ -45,7 +51,13 @@ public class Product {
      * 하지만 추후에 DB 변경 가능성이 있다면 그대로 AUTO 전략을 사용하는게 바람직함.
      * @GeneratedValue(strategy = GenerationType.AUTO) -> @GeneratedValue(strategy = GenerationType.SEQUENCE)
      */
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    /*
+     * 대량 등록(JDBC batch insert)을 위해 pooled 시퀀스로 변경.
+     * IDENTITY는 insert마다 키를 돌려받아야 해서 Hibernate가 batch를 끄고, AUTO는 벤더에 따라 전략이 달라짐.
+     * allocationSize만큼 식별자를 미리 할당받아 시퀀스 조회 없이 insert를 묶어서 전송.
+     */
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "category")
@@ -54,6 +66,13 @@ public class Product {
     @Column(name = "name")
     private String name;
 
+    /*
+     * 낙관적 락 + ETag 기준 값. 변경이 커밋될 때마다 Hibernate가 증가시킴.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /*
      * 문제: 프로젝트 환경에 Lombok이 명시되어 있으니, 일관성을 위해 Lombok 사용 권장.
      * 원인: Lombok의 자동 생성 기능을 사용하지 않음.
@@ -0,0 +1,41 @@
+package com.wjc.codetest.product.model.event;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 엔티티를 로딩하지 않는 일괄 변경(단일 UPDATE/DELETE 문) 이벤트.
+ * 단건 이벤트를 행마다 만들 수 없으므로 파생 데이터가 반영에 필요한 요약 정보만 전달.
+ *
+ * category, newCategory : RENAME_CATEGORY는 (변경 전, 변경 후), DELETE_CATEGORY는 (대상, null), DELETE_IDS는 (null, null)
+ * productIds : DELETE_IDS의 대상 id. 카테고리 단위 변경은 대상 id를 조회하지 않으므로 null.
+ * categoryDeltas : 카테고리별 상품 수 증감.
+ */
+public record ProductBulkChangedEvent(BulkType type,
+                                      String category,
+                                      String newCategory,
+                                      List<Long> productIds,
+                                      Map<String, Long> categoryDeltas,
+                                      long affectedRows) {
+
+    public enum BulkType {
+        RENAME_CATEGORY,
+        DELETE_CATEGORY,
+        DELETE_IDS
+    }
+
+    public static ProductBulkChangedEvent categoryRenamed(String from, String to, long affectedRows) {
+        return new ProductBulkChangedEvent(BulkType.RENAME_CATEGORY, from, to, null,
+                Map.of(from, -affectedRows, to, affectedRows), affectedRows);
+    }
+
+    public static ProductBulkChangedEvent categoryDeleted(String category, long affectedRows) {
+        return new ProductBulkChangedEvent(BulkType.DELETE_CATEGORY, category, null, null,
+                Map.of(category, -affectedRows), affectedRows);
+    }
+
+    public static ProductBulkChangedEvent idsDeleted(List<Long> productIds, Map<String, Long> categoryDeltas, long affectedRows) {
+        return new ProductBulkChangedEvent(BulkType.DELETE_IDS, null, null, List.copyOf(productIds),
+                Map.copyOf(categoryDeltas), affectedRows);
+    }
+}
@@ -0,0 +1,39 @@
+package com.wjc.codetest.product.model.event;
+
+import com.wjc.codetest.product.model.domain.Product;
+
+/*
+ * 상품 단건 변경 이벤트.
+ * ProductService의 create/update/deleteById에서 발행하고, 파생 데이터(카테고리 레지스트리 등)는
+ * @TransactionalEventListener로 커밋 이후에만 반영하여 롤백된 변경이 섞이지 않도록 함.
+ *
+ * previous* : 변경 전 값 (CREATED는 null)
+ * category, name : 변경 후 값 (DELETED는 null)
+ * version : 변경 후 버전 (DELETED는 null)
+ */
+public record ProductChangedEvent(ChangeType type,
+                                  Long productId,
+                                  String previousCategory,
+                                  String previousName,
+                                  String category,
+                                  String name,
+                                  Long version) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(ChangeType.CREATED, product.getId(), null, null, product.getCategory(), product.getName(), product.getVersion());
+    }
+
+    public static ProductChangedEvent updated(String previousCategory, String previousName, Product product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getId(), previousCategory, previousName, product.getCategory(), product.getName(), product.getVersion());
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(ChangeType.DELETED, product.getId(), product.getCategory(), product.getName(), null, null, null);
+    }
+}
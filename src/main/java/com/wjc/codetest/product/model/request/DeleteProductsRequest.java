@@ -0,0 +1,6 @@
+package com.wjc.codetest.product.model.request;
+
+import java.util.List;
+
+public record DeleteProductsRequest(List<Long> productIds) {
+}
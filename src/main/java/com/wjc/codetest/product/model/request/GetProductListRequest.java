@@ -19,10 +19,23 @@ import lombok.Setter;
 @Getter
 @Setter
 public class GetProductListRequest {
+    /*
+     * 서버 측 페이지 크기 상한. size가 큰 요청 하나가 커넥션/요청 스레드를 오래 점유하고 응답 직렬화 비용도 커짐.
+     * 상한을 조용히 줄여 응답하면 클라이언트가 마지막 페이지로 오해할 수 있으므로 400으로 거절.
+     */
+    public static final int MAX_SIZE = 100;
+
     private String category;
     private int page;
     private int size;
 
+    /*
+     * 페이징 방식. 기본값은 기존 클라이언트 호환을 위해 OFFSET.
+     * CURSOR 사용 시 page는 무시되고, 이전 응답의 nextCursor를 after로 전달.
+     */
+    private PagingType paging = PagingType.OFFSET;
+    private String after;
+
     /*
      * 문제 및 원인:
      * 1. 조회 조건 DTO에 페이징 필드(page, size)를 함께 두면, 각 도메인별로 페이징 필드가 반복 정의될 수 있음.
@@ -32,4 +45,25 @@ public class GetProductListRequest {
      * 2. Controller에서 @PageableDefault로 페이징 처리.
      *
      */
+
+    public void validateSize() {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+    }
+
+    public boolean isCursorPaging() {
+        return paging == PagingType.CURSOR || after != null;
+    }
+
+    /*
+     * 조건부 조회(ETag)용 요청 식별 문자열. 같은 결과를 내는 요청끼리 같은 값 (cursor 페이징이면 page는 무시).
+     * category는 길이를 앞에 붙여 null과 "null", 구분자를 포함한 값이 서로 겹치지 않도록 함.
+     */
+    public String representationKey() {
+        String categoryKey = category == null ? "-" : category.length() + ":" + category;
+        return isCursorPaging()
+                ? "list|" + categoryKey + "|" + PagingType.CURSOR + "|" + size + "|" + after
+                : "list|" + categoryKey + "|" + PagingType.OFFSET + "|" + page + "|" + size;
+    }
 }
\ No newline at end of file
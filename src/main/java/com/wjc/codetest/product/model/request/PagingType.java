@@ -0,0 +1,10 @@
+package com.wjc.codetest.product.model.request;
+
+/*
+ * OFFSET: page/size 기반 조회. totalPages, totalElements가 필요한 클라이언트용(count 쿼리 발생).
+ * CURSOR: after 토큰 기반 keyset 조회. count 쿼리가 없고, 깊은 페이지에서도 지연이 일정함.
+ */
+public enum PagingType {
+    OFFSET,
+    CURSOR
+}
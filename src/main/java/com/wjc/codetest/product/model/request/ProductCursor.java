@@ -0,0 +1,34 @@
+package com.wjc.codetest.product.model.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * 카테고리 상품 목록 keyset 페이징용 커서.
+ * 마지막으로 응답한 (category, product_id)를 Base64(URL-safe)로 인코딩하여 클라이언트에는 불투명한 토큰으로 전달.
+ * 클라이언트가 내부 구조에 의존하지 않도록 토큰 형식은 외부에 공개하지 않음.
+ */
+public record ProductCursor(String category, long lastId) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = category + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // category에 ':'가 포함될 수 있으므로 마지막 구분자 기준으로 분리.
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            return new ProductCursor(raw.substring(0, idx), Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.wjc.codetest.product.model.request;
+
+public record RenameCategoryRequest(String from, String to) {
+}
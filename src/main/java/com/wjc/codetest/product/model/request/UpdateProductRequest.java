@@ -19,10 +19,14 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+// 요청 본문(JSON) 역직렬화용. 생성자가 여러 개라 Jackson이 사용할 생성자를 고를 수 없음.
+@NoArgsConstructor
 public class UpdateProductRequest {
     private Long id; // Controller에서 @PathVariable로 받아 Restful하게 변경.
     private String category;
     private String name;
+    // 클라이언트가 마지막으로 본 버전(If-Match). null이면 버전 확인 없이 수정.
+    private Long version;
 
     /*
      * 해당 코멘트는 CreateProductRequest.java의 리뷰와 동일합니다.
@@ -0,0 +1,7 @@
+package com.wjc.codetest.product.model.response;
+
+/*
+ * 일괄 변경 결과. affectedRows: 실제 변경/삭제된 행 수.
+ */
+public record BulkChangeResponse(long affectedRows) {
+}
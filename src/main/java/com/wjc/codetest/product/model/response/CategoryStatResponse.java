@@ -0,0 +1,4 @@
+package com.wjc.codetest.product.model.response;
+
+public record CategoryStatResponse(String category, long count) {
+}
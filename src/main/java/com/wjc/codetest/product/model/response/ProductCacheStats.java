@@ -0,0 +1,8 @@
+package com.wjc.codetest.product.model.response;
+
+/*
+ * 상품 캐시 통계 (누적값).
+ * evictionCount: 크기 초과 또는 TTL 만료로 제거된 수 (명시적 무효화는 제외).
+ */
+public record ProductCacheStats(long hitCount, long missCount, long evictionCount, double hitRate, long size) {
+}
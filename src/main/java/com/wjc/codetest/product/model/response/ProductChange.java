@@ -0,0 +1,68 @@
+package com.wjc.codetest.product.model.response;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+
+import java.util.List;
+
+/*
+ * 변경 스트림(GET /product/changes)으로 전달하는 커밋된 변경 1건.
+ * sequence는 커밋 순서대로 1씩 증가 (인스턴스 기동 단위).
+ * 변경 후 값을 모두 담으므로 클라이언트는 목록을 다시 조회하지 않고 바로 반영 가능.
+ *
+ * - CREATED / UPDATED : productId, category, name, version (UPDATED는 previousCategory 포함)
+ * - DELETED           : productId, previousCategory
+ * - CATEGORY_RENAMED  : previousCategory -> category (해당 카테고리 상품 버전 1 증가)
+ * - CATEGORY_DELETED  : previousCategory
+ * - PRODUCTS_DELETED  : productIds
+ */
+public record ProductChange(long sequence,
+                            Type type,
+                            Long productId,
+                            List<Long> productIds,
+                            String previousCategory,
+                            String category,
+                            String name,
+                            Long version) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        CATEGORY_RENAMED,
+        CATEGORY_DELETED,
+        PRODUCTS_DELETED
+    }
+
+    public static ProductChange of(long sequence, ProductChangedEvent event) {
+        Type type = switch (event.type()) {
+            case CREATED -> Type.CREATED;
+            case UPDATED -> Type.UPDATED;
+            case DELETED -> Type.DELETED;
+        };
+        return new ProductChange(sequence, type, event.productId(), null,
+                event.previousCategory(), event.category(), event.name(), event.version());
+    }
+
+    public static ProductChange of(long sequence, ProductBulkChangedEvent event) {
+        return switch (event.type()) {
+            case RENAME_CATEGORY -> new ProductChange(sequence, Type.CATEGORY_RENAMED, null, null,
+                    event.category(), event.newCategory(), null, null);
+            case DELETE_CATEGORY -> new ProductChange(sequence, Type.CATEGORY_DELETED, null, null,
+                    event.category(), null, null, null);
+            case DELETE_IDS -> new ProductChange(sequence, Type.PRODUCTS_DELETED, null, event.productIds(),
+                    null, null, null, null);
+        };
+    }
+
+    /*
+     * category 구독자에게 보낼 변경인지. 카테고리로 들어오거나 나간 변경 모두 포함.
+     * PRODUCTS_DELETED는 대상 행의 카테고리를 조회하지 않으므로 모든 구독자에게 전달 (없는 id는 클라이언트가 무시).
+     */
+    public boolean concerns(String subscribedCategory) {
+        return subscribedCategory == null
+                || type == Type.PRODUCTS_DELETED
+                || subscribedCategory.equals(category)
+                || subscribedCategory.equals(previousCategory);
+    }
+}
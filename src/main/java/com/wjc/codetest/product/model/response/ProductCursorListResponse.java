@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+ * keyset 페이징 응답.
+ * totalPages/totalElements는 count 쿼리가 필요하므로 포함하지 않고, 다음 페이지 존재 여부와 커서만 전달.
+ * nextCursor를 그대로 다음 요청의 after에 넣으면 이어서 조회됨.
+ */
+public record ProductCursorListResponse(List<ProductResponse> products, String nextCursor, boolean hasNext) {
+}
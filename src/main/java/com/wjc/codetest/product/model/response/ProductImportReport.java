@@ -0,0 +1,36 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+ * 대량 등록 결과.
+ * 청크 단위로 커밋하므로 실패한 청크만 롤백되고, 나머지 청크는 반영됨(부분 성공).
+ * 샤딩 모드에서는 청크를 샤드별 그룹으로 나누어 그룹마다 커밋하므로 한 청크 안에서도 일부 그룹만 반영될 수 있음
+ * -> 청크별 committedRows와 shards(그룹별 결과)로 어느 행이 반영되었는지 확인 (재시도 시 중복 방지).
+ * aborted: 입력 형식 오류로 스트림을 더 읽을 수 없어 중단된 경우 true.
+ */
+public record ProductImportReport(long totalRows,
+                                  long importedRows,
+                                  long failedRows,
+                                  boolean aborted,
+                                  String abortCause,
+                                  long elapsedMillis,
+                                  List<Chunk> chunks) {
+
+    /*
+     * firstRow: 입력 기준 0부터 시작하는 청크 첫 행 번호.
+     * committed: 청크 전체가 커밋된 경우 true. committedRows: 실제 커밋된 행 수.
+     * error: 실패한 경우 (첫 번째) 원인, 성공 시 null.
+     * shards: 샤딩 모드의 샤드 그룹별 결과. 샤딩을 사용하지 않으면 빈 목록.
+     */
+    public record Chunk(int index, long firstRow, int rows, int committedRows, boolean committed, long elapsedMillis,
+                        double rowsPerSecond, String error, List<ShardGroup> shards) {
+    }
+
+    /*
+     * 청크 안에서 한 샤드에 속한 행들의 커밋 결과.
+     * failedOffsets: 실패한 그룹의 행 위치(청크 firstRow 기준 0부터). 이 행들만 다시 보내면 됨. 성공 시 빈 목록.
+     */
+    public record ShardGroup(int shard, int rows, boolean committed, String error, List<Integer> failedOffsets) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.wjc.codetest.product.model.response;
+
+import java.time.Instant;
+
+/*
+ * 비동기 등록 요청의 처리 상태.
+ * - QUEUED: 큐에서 대기 중 (아직 DB 미반영)
+ * - COMMITTED: 배치 트랜잭션 커밋 완료, productId 확정
+ * - FAILED: 저장 실패, error에 원인
+ */
+public record ProductIngestionStatus(String trackingId,
+                                     State state,
+                                     Long productId,
+                                     String error,
+                                     Instant acceptedAt,
+                                     Instant completedAt) {
+
+    public enum State {
+        QUEUED, COMMITTED, FAILED
+    }
+
+    public static ProductIngestionStatus queued(String trackingId) {
+        return new ProductIngestionStatus(trackingId, State.QUEUED, null, null, Instant.now(), null);
+    }
+
+    public ProductIngestionStatus committed(Long productId) {
+        return new ProductIngestionStatus(trackingId, State.COMMITTED, productId, null, acceptedAt, Instant.now());
+    }
+
+    public ProductIngestionStatus failed(String error) {
+        return new ProductIngestionStatus(trackingId, State.FAILED, null, error, acceptedAt, Instant.now());
+    }
+}
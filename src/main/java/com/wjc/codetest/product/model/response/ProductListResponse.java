@@ -1,6 +1,5 @@
 package com.wjc.codetest.product.model.response;
 
-import com.wjc.codetest.product.model.domain.Product;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -31,12 +30,12 @@ public class ProductListResponse {
     * 2. 연관 관계 포함 시 N+1 문제 발생 가능성.
     * 개선안: ProductResponse를 생성하여 직접적인 Entity 사용 X.
     * */
-    private List<Product> products;
+    private List<ProductResponse> products;
     private int totalPages;
     private long totalElements;
     private int page;
 
-    public ProductListResponse(List<Product> content, int totalPages, long totalElements, int number) {
+    public ProductListResponse(List<ProductResponse> content, int totalPages, long totalElements, int number) {
         this.products = content; // 매개변수명과 필드명 일치하지 않아 혼란 -> 동일하게 수정
         this.totalPages = totalPages;
         this.totalElements = totalElements;
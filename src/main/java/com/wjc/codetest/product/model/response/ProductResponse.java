@@ -0,0 +1,24 @@
+package com.wjc.codetest.product.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wjc.codetest.product.model.domain.Product;
+
+/*
+ * 상품 조회 응답 (읽기 전용 projection).
+ * Repository에서 생성자 표현식(SELECT new ...)으로 바로 만들어 엔티티 생성, 영속성 컨텍스트 등록,
+ * dirty checking용 스냅샷을 모두 생략. JSON 형태는 기존 Product 응답과 동일(id, category, name).
+ * version은 본문 대신 ETag 헤더로 전달.
+ */
+public record ProductResponse(Long id, String category, String name, @JsonIgnore Long version) {
+
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(product.getId(), product.getCategory(), product.getName(), product.getVersion());
+    }
+
+    /*
+     * 강한 ETag. id와 version이 같으면 표현(representation)도 같음.
+     */
+    public String eTag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,12 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+ * 상품명 검색 결과. hits는 순위 순서, totalMatches는 조건에 맞는 전체 상품 수.
+ */
+public record ProductSearchResponse(List<Hit> hits, long totalMatches, int page, int size) {
+
+    public record Hit(Long id, String category, String name) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.repository;
+
+/*
+ * 카테고리별 상품 수 집계 결과 (interface projection).
+ */
+public interface CategoryCount {
+
+    String getCategory();
+
+    long getCount();
+}
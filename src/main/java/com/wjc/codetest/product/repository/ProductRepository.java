@@ -1,13 +1,22 @@
 package com.wjc.codetest.product.repository;
 
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -20,6 +29,68 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     * */
     Page<Product> findAllByCategory(String name, Pageable pageable);
 
-    @Query("SELECT DISTINCT p.category FROM Product p")
-    List<String> findDistinctCategories();
+    /*
+     * keyset 페이징: (category, product_id) seek 조건으로 OFFSET 스캔과 count 쿼리 없이 다음 페이지를 조회.
+     * category는 동등 조건이므로 정렬은 product_id만으로 안정적.
+     * 첫 페이지는 lastId = 0 (식별자는 1부터 발급).
+     */
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) " +
+            "FROM Product p WHERE p.category = :category AND p.id > :lastId ORDER BY p.id ASC")
+    List<ProductResponse> findNextByCategory(@Param("category") String category, @Param("lastId") Long lastId, Limit limit);
+
+    /*
+     * 읽기 전용 projection 조회. 엔티티를 만들지 않으므로 영속성 컨텍스트 등록/스냅샷 비용이 없음.
+     * 수정/삭제처럼 영속 엔티티가 필요한 경우에는 findById 사용.
+     */
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = "SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) " +
+            "FROM Product p WHERE p.category = :category",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category = :category")
+    Page<ProductResponse> findResponsesByCategory(@Param("category") String category, Pageable pageable);
+
+    /*
+     * 카테고리 전체 export용. 결과를 List로 모으지 않고 fetch size 단위로 읽음.
+     * readOnly 힌트로 dirty checking용 스냅샷을 만들지 않음. 호출 측 트랜잭션 안에서 소비하고 닫아야 함.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.category = :category ORDER BY p.id ASC")
+    Stream<Product> streamAllByCategory(@Param("category") String category);
+
+    /*
+     * 전체 상품 순회 (기동 시 메모리 색인 적재용). 사용 조건은 streamAllByCategory와 동일.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p")
+    Stream<Product> streamAll();
+
+    @Query("SELECT p.category AS category, COUNT(p) AS count FROM Product p GROUP BY p.category")
+    List<CategoryCount> countGroupByCategory();
+
+    @Query("SELECT p.category AS category, COUNT(p) AS count FROM Product p WHERE p.id IN :ids GROUP BY p.category")
+    List<CategoryCount> countGroupByCategoryByIds(@Param("ids") List<Long> ids);
+
+    /*
+     * 일괄 변경: 엔티티를 로딩하지 않고 단일 문장으로 실행.
+     * 영속성 컨텍스트를 우회하므로 실행 전 flush, 실행 후 clear하여 1차 캐시와 DB 불일치를 방지.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.category = :to, p.version = p.version + 1 WHERE p.category = :from")
+    int renameCategory(@Param("from") String from, @Param("to") String to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.category = :category")
+    int deleteAllByCategoryInBulk(@Param("category") String category);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteAllByIdInBulk(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,369 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 카테고리 목록 조회용 컬럼형 상품 스냅샷.
+ * 1. category는 사전(dictionary)으로 int 코드화하여 행마다 String을 두지 않음. 카테고리 하나 = 컬럼 묶음(Column) 하나.
+ * 2. 컬럼 묶음은 id 오름차순 primitive 배열(long[] id, int[] version, int[] 이름 위치/길이)과
+ *    상품명 UTF-8 바이트를 이어 붙인 byte[] arena로 구성. 행 단위 객체가 없음.
+ * 3. 페이지 조회는 offset 위치부터 size개만 ProductResponse로 디코딩 (스캔 중 행 객체 할당 없음).
+ *
+ * 변경 반영:
+ * - 추가/수정: id 이진 탐색 후 삽입(대부분 마지막 위치) 또는 이름 교체. 이름은 arena 끝에 새로 기록.
+ *   저장된 버전보다 낮은 버전의 행은 무시 (기동 적재와 커밋 이벤트가 겹치거나 이벤트 순서가 뒤바뀐 경우).
+ * - 삭제: 배열을 당겨 제거. 교체/삭제로 버려진 arena 영역이 절반을 넘으면 압축.
+ * - 카테고리 이름 변경: 컬럼 묶음을 새 코드로 이동 (기존 카테고리가 있으면 id 순으로 병합).
+ *
+ * 전체를 하나의 ReadWriteLock으로 보호 (쓰기는 커밋 이벤트 단위로 드묾).
+ */
+public final class CatalogColumns {
+
+    private static final int INITIAL_ROWS = 16;
+    private static final int NULL_NAME = -1;
+    // 이 크기 미만의 버려진 arena 영역은 압축하지 않음.
+    private static final int MIN_COMPACT_GARBAGE = 4096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] dictionary = new String[8];
+    private Column[] columns = new Column[8];
+
+    /*
+     * id가 이미 있으면 이름/버전 교체, 없으면 id 순서 위치에 삽입.
+     * 저장된 버전이 더 높으면 늦게 도착한 이전 값이므로 무시하고 false.
+     * category가 null인 상품은 카테고리 목록 조회 대상이 아니므로 보관하지 않음.
+     */
+    public boolean put(long id, String category, String name, long version) {
+        if (category == null) {
+            return false;
+        }
+        byte[] encodedName = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int code = code(category);
+            if (columns[code] == null) {
+                columns[code] = new Column(INITIAL_ROWS);
+            }
+            return columns[code].put(id, encodedName, Math.toIntExact(version));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * category를 알면 해당 컬럼에서, 모르거나 없으면 전체 컬럼에서 제거 (카테고리 수가 적어 이진 탐색 k번).
+     */
+    public boolean remove(long id, String category) {
+        lock.writeLock().lock();
+        try {
+            Column hinted = column(category);
+            if (hinted != null && hinted.remove(id)) {
+                return true;
+            }
+            for (Column column : columns) {
+                if (column != null && column != hinted && column.remove(id)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * DB의 일괄 이름 변경(UPDATE ... SET category = :to, version = version + 1)과 같은 결과가 되도록 버전도 1 증가.
+     */
+    public int renameCategory(String from, String to) {
+        lock.writeLock().lock();
+        try {
+            Column source = column(from);
+            if (source == null || from.equals(to)) {
+                return 0;
+            }
+            columns[codes.get(from)] = null;
+            source.incrementVersions();
+            if (to == null) {
+                return source.size;
+            }
+            int target = code(to);
+            columns[target] = columns[target] == null ? source : Column.merge(columns[target], source);
+            return source.size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int removeCategory(String category) {
+        lock.writeLock().lock();
+        try {
+            Column column = column(category);
+            if (column == null) {
+                return 0;
+            }
+            columns[codes.get(category)] = null;
+            return column.size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * category 내 id 오름차순 페이지. DB 경로(category, product_id 정렬)와 같은 순서/전체 건수.
+     */
+    public Page<ProductResponse> page(String category, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            Column column = column(category);
+            if (column == null || pageable.getOffset() >= column.size) {
+                return new PageImpl<>(List.of(), pageable, column == null ? 0 : column.size);
+            }
+            int from = (int) pageable.getOffset();
+            int to = (int) Math.min(column.size, pageable.getOffset() + pageable.getPageSize());
+            // 카테고리 문자열은 사전의 인스턴스를 공유.
+            String sharedCategory = dictionary[codes.get(category)];
+            List<ProductResponse> content = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                content.add(column.response(i, sharedCategory));
+            }
+            return new PageImpl<>(content, pageable, column.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            long size = 0;
+            for (Column column : columns) {
+                size += column == null ? 0 : column.size;
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * 배열 할당 크기 기준 추정 힙 사용량 (사전/락 등 고정 비용 제외).
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Column column : columns) {
+                bytes += column == null ? 0 : column.allocatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Column column(String category) {
+        Integer code = category == null ? null : codes.get(category);
+        return code == null ? null : columns[code];
+    }
+
+    private int code(String category) {
+        Integer code = codes.get(category);
+        if (code != null) {
+            return code;
+        }
+        int next = codes.size();
+        if (next == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, next * 2);
+            columns = Arrays.copyOf(columns, next * 2);
+        }
+        dictionary[next] = category;
+        codes.put(category, next);
+        return next;
+    }
+
+    private static final class Column {
+        private long[] ids;
+        private int[] versions;
+        private int[] nameOffsets;
+        private int[] nameLengths;
+        private byte[] arena;
+        private int size;
+        private int arenaUsed;
+        private int garbage;
+
+        Column(int capacity) {
+            ids = new long[capacity];
+            versions = new int[capacity];
+            nameOffsets = new int[capacity];
+            nameLengths = new int[capacity];
+            arena = new byte[capacity * 16];
+        }
+
+        static Column merge(Column left, Column right) {
+            Column merged = new Column(Math.max(left.size + right.size, INITIAL_ROWS));
+            int l = 0;
+            int r = 0;
+            while (l < left.size || r < right.size) {
+                if (r == right.size || (l < left.size && left.ids[l] < right.ids[r])) {
+                    merged.appendFrom(left, l++);
+                } else {
+                    // 같은 id는 나중(right) 값 사용.
+                    if (l < left.size && left.ids[l] == right.ids[r]) {
+                        l++;
+                    }
+                    merged.appendFrom(right, r++);
+                }
+            }
+            return merged;
+        }
+
+        boolean put(long id, byte[] name, int version) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                if (version < versions[at]) {
+                    return false;
+                }
+                release(at);
+                writeName(at, name);
+                versions[at] = version;
+                compactIfNeeded();
+                return true;
+            }
+            int insertAt = -at - 1;
+            ensureCapacity(size + 1);
+            if (insertAt < size) {
+                int moved = size - insertAt;
+                System.arraycopy(ids, insertAt, ids, insertAt + 1, moved);
+                System.arraycopy(versions, insertAt, versions, insertAt + 1, moved);
+                System.arraycopy(nameOffsets, insertAt, nameOffsets, insertAt + 1, moved);
+                System.arraycopy(nameLengths, insertAt, nameLengths, insertAt + 1, moved);
+            }
+            ids[insertAt] = id;
+            versions[insertAt] = version;
+            writeName(insertAt, name);
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            release(at);
+            int moved = size - at - 1;
+            System.arraycopy(ids, at + 1, ids, at, moved);
+            System.arraycopy(versions, at + 1, versions, at, moved);
+            System.arraycopy(nameOffsets, at + 1, nameOffsets, at, moved);
+            System.arraycopy(nameLengths, at + 1, nameLengths, at, moved);
+            size--;
+            compactIfNeeded();
+            return true;
+        }
+
+        void incrementVersions() {
+            for (int i = 0; i < size; i++) {
+                versions[i]++;
+            }
+        }
+
+        ProductResponse response(int row, String category) {
+            int length = nameLengths[row];
+            String name = length == NULL_NAME ? null : new String(arena, nameOffsets[row], length, StandardCharsets.UTF_8);
+            return new ProductResponse(ids[row], category, name, (long) versions[row]);
+        }
+
+        long allocatedBytes() {
+            return ids.length * 8L + (versions.length + nameOffsets.length + nameLengths.length) * 4L + arena.length;
+        }
+
+        private void appendFrom(Column source, int row) {
+            ensureCapacity(size + 1);
+            ids[size] = source.ids[row];
+            versions[size] = source.versions[row];
+            int length = source.nameLengths[row];
+            if (length == NULL_NAME) {
+                nameOffsets[size] = 0;
+                nameLengths[size] = NULL_NAME;
+            } else {
+                ensureArena(length);
+                System.arraycopy(source.arena, source.nameOffsets[row], arena, arenaUsed, length);
+                nameOffsets[size] = arenaUsed;
+                nameLengths[size] = length;
+                arenaUsed += length;
+            }
+            size++;
+        }
+
+        private void writeName(int row, byte[] name) {
+            if (name == null) {
+                nameOffsets[row] = 0;
+                nameLengths[row] = NULL_NAME;
+                return;
+            }
+            ensureArena(name.length);
+            System.arraycopy(name, 0, arena, arenaUsed, name.length);
+            nameOffsets[row] = arenaUsed;
+            nameLengths[row] = name.length;
+            arenaUsed += name.length;
+        }
+
+        private void release(int row) {
+            if (nameLengths[row] > 0) {
+                garbage += nameLengths[row];
+            }
+        }
+
+        private void ensureCapacity(int rows) {
+            if (rows <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(rows, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+        }
+
+        private void ensureArena(int bytes) {
+            int required = Math.addExact(arenaUsed, bytes);
+            if (required <= arena.length) {
+                return;
+            }
+            int grown = arena.length + (arena.length >> 1);
+            arena = Arrays.copyOf(arena, Math.max(required, grown < 0 ? Integer.MAX_VALUE - 8 : grown));
+        }
+
+        // 교체/삭제로 버려진 이름 바이트가 사용 중인 arena의 절반을 넘으면 살아 있는 이름만 id 순으로 다시 기록.
+        private void compactIfNeeded() {
+            if (garbage < MIN_COMPACT_GARBAGE || garbage * 2 < arenaUsed) {
+                return;
+            }
+            byte[] compacted = new byte[Math.max(arenaUsed - garbage, INITIAL_ROWS * 16)];
+            int used = 0;
+            for (int i = 0; i < size; i++) {
+                int length = nameLengths[i];
+                if (length > 0) {
+                    System.arraycopy(arena, nameOffsets[i], compacted, used, length);
+                    nameOffsets[i] = used;
+                    used += length;
+                }
+            }
+            arena = compacted;
+            arenaUsed = used;
+            garbage = 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 카탈로그 전체의 변경 워터마크. 커밋된 상품 변경마다 1 증가.
+ * 목록/카테고리 조회는 이 값으로 ETag를 만들어, 변경이 없으면 DB를 읽지 않고 304로 응답.
+ *
+ * - 다른 파생 데이터(레지스트리, 카운터 등)가 먼저 갱신된 뒤 증가하도록 가장 마지막 순서로 실행.
+ * - 조회 측은 반드시 데이터를 읽기 "전에" ETag를 계산해야 함. (읽은 뒤 계산하면 이전 데이터에 새 ETag가 붙을 수 있음)
+ * - 재기동/다른 인스턴스와 값이 겹치지 않도록 기동 시점마다 다른 epoch를 ETag에 포함.
+ * - 한 URL이 요청 본문에 따라 다른 결과를 내는 경우(POST /product/list) 표현 키의 해시를 함께 넣어,
+ *   다른 카테고리/페이지의 ETag로 보낸 조건부 요청이 304가 되지 않도록 함.
+ */
+@Component
+public class CatalogVersion {
+
+    private final long epoch = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+    private final AtomicLong watermark = new AtomicLong();
+
+    public String eTag() {
+        return "\"catalog-" + Long.toHexString(epoch) + "-" + watermark.get() + "\"";
+    }
+
+    /*
+     * representation: 같은 워터마크에서 같은 응답을 내는 요청끼리만 같은 문자열 (GetProductListRequest.representationKey 등).
+     */
+    public String eTag(String representation) {
+        return "\"catalog-" + Long.toHexString(epoch) + "-" + watermark.get() + "-" + hash(representation) + "\"";
+    }
+
+    /*
+     * 커밋 외에 조회 결과가 달라질 수 있는 시점(레플리카 반영 등)에도 ETag를 바꾸기 위해 사용.
+     */
+    public void advance() {
+        watermark.incrementAndGet();
+    }
+
+    // SHA-256 앞 8바이트. 서로 다른 요청의 ETag가 우연히 같아질 가능성을 무시할 수 있을 정도로 유지.
+    private static String hash(String representation) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(representation.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        advance();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        advance();
+    }
+}
@@ -0,0 +1,104 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import com.wjc.codetest.product.repository.CategoryCount;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 문제: 대시보드가 카테고리별 상품 수를 보려고 /product/list(size=1)를 호출하여 count(*)가 매번 실행됨.
+ * 개선안: 카테고리별 LongAdder 카운터.
+ * - 기동 시 GROUP BY 한 번으로 초기화, 이후 커밋된 변경 이벤트로 증감(락 없이 스레드별 셀에 누적).
+ * - 이벤트 유실/외부 변경으로 생긴 오차는 CategoryReconciliationJob이 주기적으로 DB 기준으로 보정.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryCounters {
+
+    private final ProductRepository productRepository;
+    private final ProductShards productShards;
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        reconcile(productShards.gather(productRepository::countGroupByCategory));
+    }
+
+    public List<CategoryStatResponse> snapshot() {
+        return counters.entrySet().stream()
+                .map(entry -> new CategoryStatResponse(entry.getKey(), entry.getValue().sum()))
+                .filter(stat -> stat.count() > 0)
+                .sorted((a, b) -> a.category().compareTo(b.category()))
+                .toList();
+    }
+
+    /*
+     * DB 집계와 비교하여 차이만큼 보정하고, 보정한 총 오차를 반환.
+     * 보정 시점에 커밋은 됐지만 아직 이벤트가 반영되지 않은 변경이 있으면 일시적으로 다시 오차가 생기며, 다음 보정에서 해소됨.
+     */
+    public long reconcile(List<CategoryCount> rows) {
+        Map<String, Long> actual = new HashMap<>();
+        for (CategoryCount row : rows) {
+            if (row.getCategory() != null) {
+                actual.put(row.getCategory(), row.getCount());
+            }
+        }
+
+        long drift = 0;
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                long current = entry.getValue().sum();
+                entry.getValue().add(-current);
+                drift += Math.abs(current);
+            }
+        }
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            LongAdder counter = counter(entry.getKey());
+            long diff = entry.getValue() - counter.sum();
+            if (diff != 0) {
+                counter.add(diff);
+                drift += Math.abs(diff);
+            }
+        }
+        return drift;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (Objects.equals(event.previousCategory(), event.category())) {
+            return;
+        }
+        add(event.previousCategory(), -1);
+        add(event.category(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        event.categoryDeltas().forEach(this::add);
+    }
+
+    private void add(String category, long delta) {
+        if (category != null) {
+            counter(category).add(delta);
+        }
+    }
+
+    private LongAdder counter(String category) {
+        return counters.computeIfAbsent(category, key -> new LongAdder());
+    }
+}
@@ -0,0 +1,45 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.repository.CategoryCount;
+import com.wjc.codetest.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/*
+ * 카테고리 파생 데이터(카운터, 레지스트리)를 주기적으로 DB 기준으로 보정.
+ * GROUP BY 한 번의 결과를 두 곳이 함께 사용 (idx_product_category_id 인덱스만 읽음).
+ * 보정으로 카운터 값이나 카테고리 목록이 바뀌면 카탈로그 워터마크를 올려, 이전 ETag로 조건부 요청하는 클라이언트가 304로 계속 이전 값을 받지 않도록 함.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryReconciliationJob {
+
+    private final ProductRepository productRepository;
+    private final ProductShards productShards;
+    private final CategoryCounters categoryCounters;
+    private final CategoryRegistry categoryRegistry;
+    private final CatalogVersion catalogVersion;
+
+    @Scheduled(fixedDelayString = "${product.category.reconcile-interval:PT5M}",
+            initialDelayString = "${product.category.reconcile-interval:PT5M}")
+    // 레플리카 사용 시에도 복제 지연 없이 primary 기준으로 보정하도록 쓰기 트랜잭션(= primary 라우팅)으로 조회.
+    @Transactional
+    public void reconcile() {
+        // 샤딩 모드에서는 카테고리가 샤드 하나에만 있으므로 샤드별 집계를 이어 붙이면 전체 집계와 같음.
+        List<CategoryCount> rows = productShards.gather(productRepository::countGroupByCategory);
+        long drift = categoryCounters.reconcile(rows);
+        boolean categoriesChanged = categoryRegistry.rebuild(rows);
+        if (drift != 0 || categoriesChanged) {
+            catalogVersion.advance();
+        }
+        if (drift != 0) {
+            log.warn("category counters reconciled :: drift={}", drift);
+        }
+    }
+}
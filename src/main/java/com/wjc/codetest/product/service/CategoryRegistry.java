@@ -0,0 +1,108 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.repository.CategoryCount;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 문제: 카테고리 목록 조회마다 SELECT DISTINCT로 Product 테이블 전체를 스캔.
+ * 원인: 카테고리 종류는 적고 거의 변하지 않는데, 매 요청마다 DB에서 다시 계산.
+ * 개선안: 기동 시 GROUP BY 한 번으로 카테고리별 참조 카운트를 적재하고, 이후에는 상품 변경 이벤트(커밋 이후)로 증감.
+ * 카운트가 0이 되면 카테고리를 제거하며, 조회는 SQL 없이 O(#categories).
+ *
+ * 트레이드 오프:
+ * - 애플리케이션 외부(콘솔, 배치 등)에서 DB를 직접 수정하면 반영되지 않으므로 rebuild()로 재적재.
+ * - category가 null인 상품은 목록에서 제외.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private final ProductRepository productRepository;
+    private final ProductShards productShards;
+
+    // 키 정렬 유지 -> 드롭다운용 목록을 별도 정렬 없이 반환.
+    private final ConcurrentSkipListMap<String, Long> counts = new ConcurrentSkipListMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public List<String> categories() {
+        return new ArrayList<>(counts.keySet());
+    }
+
+    /*
+     * DB 기준으로 재적재. 카테고리 목록 또는 카운트가 바뀌었으면 true (호출 측이 카탈로그 워터마크를 올림).
+     * 재적재 도중 커밋된 변경은 조회 시점에 따라 누락/중복될 수 있으나, 다음 rebuild에서 보정됨.
+     */
+    public boolean rebuild() {
+        return rebuild(productShards.gather(productRepository::countGroupByCategory));
+    }
+
+    /*
+     * 이미 조회한 집계 결과로 재적재 (CategoryReconciliationJob이 카운터 보정과 같은 집계를 공유).
+     */
+    public boolean rebuild(List<CategoryCount> rows) {
+        // synchronized 블록 안에서 JDBC 호출 시 가상 스레드가 캐리어 스레드에 고정(pinning)되므로 ReentrantLock 사용.
+        rebuildLock.lock();
+        try {
+            Map<String, Long> loaded = new HashMap<>();
+            for (CategoryCount row : rows) {
+                if (row.getCategory() != null && row.getCount() > 0) {
+                    loaded.put(row.getCategory(), row.getCount());
+                }
+            }
+            boolean changed = !counts.equals(loaded);
+            // clear 후 putAll하면 그 사이 조회가 빈 목록을 볼 수 있으므로, 사라진 키만 제거하고 덮어씀.
+            counts.keySet().retainAll(loaded.keySet());
+            counts.putAll(loaded);
+            log.info("category registry rebuilt :: {} categories, changed={}", counts.size(), changed);
+            return changed;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (Objects.equals(event.previousCategory(), event.category())) {
+            return;
+        }
+        adjust(event.previousCategory(), -1);
+        adjust(event.category(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        event.categoryDeltas().forEach(this::adjust);
+    }
+
+    void adjust(String category, long delta) {
+        if (category == null || delta == 0) {
+            return;
+        }
+        // 결과가 0 이하이면 null 반환 -> 엔트리 제거.
+        counts.compute(category, (key, current) -> {
+            long next = (current == null ? 0L : current) + delta;
+            return next > 0 ? next : null;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.wjc.codetest.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wjc.codetest.common.SingleFlight;
+import com.wjc.codetest.datasource.PrimaryPinning;
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.ProductCacheStats;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/*
+ * 문제: getProductById 요청마다 findById로 DB 조회. 트래픽이 소수의 인기 상품에 몰려 같은 행을 반복 조회.
+ * 개선안: 크기 + TTL 제한 read-through 캐시(Caffeine).
+ *
+ * 정합성:
+ * - 쓰기 시 커밋 전(ProductService에서 직접)과 커밋 후(이벤트) 두 번 무효화.
+ * - 조회 중 쓰기가 커밋되면, 조회 시작 전에 읽어 둔 세대(generation)가 바뀌므로 적재한 값을 다시 제거.
+ *   -> 커밋 이전 값을 읽은 조회가 무효화 이후에 캐시를 덮어쓰는 경쟁 상태를 차단.
+ * - 세대는 id 해시 기반 stripe 배열로 관리하여 메모리 사용량이 상품 수와 무관.
+ * - 불변 projection(ProductResponse)을 저장하므로 호출자가 캐시 내용을 변경할 수 없음.
+ */
+@Component
+public class ProductCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, ProductResponse> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    // 캐시 미스가 동시에 몰리면(인기 상품 만료 직후 등) DB 조회 한 번만 실행하고 결과 공유.
+    private final SingleFlight<Long, ProductResponse> loads;
+
+    public ProductCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.loads = new SingleFlight<>("product-by-id", meterRegistry);
+    }
+
+    public ProductResponse get(Long productId, Function<Long, ProductResponse> loader) {
+        // 쓰기 직후 primary로 고정된 요청은 레플리카에서 읽어 캐싱된 값이나 진행 중인 레플리카 조회를 쓰지 않음.
+        if (PrimaryPinning.isPinned()) {
+            return loader.apply(productId);
+        }
+        ProductResponse cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(stripe(productId));
+        ProductResponse loaded = loads.execute(productId, () -> loader.apply(productId));
+        cache.put(productId, loaded);
+        // 적재 사이에 무효화가 있었다면 방금 넣은 값은 커밋 이전 값일 수 있으므로 제거.
+        if (generations.get(stripe(productId)) != generation) {
+            cache.asMap().remove(productId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        generations.incrementAndGet(stripe(productId));
+        loads.forget(productId);
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        loads.forgetAll();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        if (event.productIds() == null) {
+            // 카테고리 단위 변경은 대상 id를 알 수 없으므로 전체 무효화.
+            invalidateAll();
+            return;
+        }
+        event.productIds().forEach(this::invalidate);
+    }
+
+    public ProductCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new ProductCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                stats.hitRate(), cache.estimatedSize());
+    }
+
+    private static int stripe(Long productId) {
+        return (int) ((productId ^ (productId >>> 32)) & (STRIPES - 1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/*
+ * 문제: 카테고리 값 종류는 몇 개뿐인데, 목록 조회마다 DB에서 행을 읽고 행마다 category String을 새로 만듦.
+ * 개선안(선택): product.list.snapshot.enabled=true 이면 getListByCategory를 메모리 컬럼형 스냅샷(CatalogColumns)으로 응답.
+ * - 기동 시 전체 적재, 이후 상품 변경 이벤트(커밋 이후)로 증분 반영 (ProductSearchIndex와 같은 방식).
+ * - 페이지 조회에 DB/커넥션을 사용하지 않음.
+ *
+ * 트레이드 오프: 상품 수에 비례하는 힙 사용(행당 약 20바이트 + 상품명 UTF-8 길이), 인스턴스마다 별도 적재.
+ * 엔티티 경로와의 메모리 비교는 ./gradlew catalogFootprint (CatalogFootprintReport).
+ */
+@Slf4j
+@Component
+public class ProductCatalogSnapshot {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductShards productShards;
+    private final boolean enabled;
+    private final CatalogColumns columns = new CatalogColumns();
+
+    public ProductCatalogSnapshot(ProductRepository productRepository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  ProductShards productShards,
+                                  @Value("${product.list.snapshot.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.productShards = productShards;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        productShards.forEachShard(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAll()) {
+                products.forEach(product -> {
+                    columns.put(product.getId(), product.getCategory(), product.getName(), product.getVersion());
+                    entityManager.detach(product);
+                });
+            }
+        }));
+        log.info("product catalog snapshot built :: {} products, ~{}KB, {}ms",
+                columns.size(), columns.estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Page<ProductResponse> page(String category, Pageable pageable) {
+        return columns.page(category, pageable);
+    }
+
+    public long estimatedBytes() {
+        return columns.estimatedBytes();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // 같은 카테고리 안의 수정은 put이 이름/버전만 교체하므로 제거하지 않음.
+        boolean leavesCategory = event.type() == ProductChangedEvent.ChangeType.DELETED
+                || (event.type() == ProductChangedEvent.ChangeType.UPDATED
+                && !Objects.equals(event.previousCategory(), event.category()));
+        if (leavesCategory) {
+            columns.remove(event.productId(), event.previousCategory());
+        }
+        if (event.type() != ProductChangedEvent.ChangeType.DELETED) {
+            columns.put(event.productId(), event.category(), event.name(), event.version() == null ? 0 : event.version());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case DELETE_IDS -> event.productIds().forEach(id -> columns.remove(id, null));
+            case DELETE_CATEGORY -> columns.removeCategory(event.category());
+            case RENAME_CATEGORY -> columns.renameCategory(event.category(), event.newCategory());
+        }
+    }
+}
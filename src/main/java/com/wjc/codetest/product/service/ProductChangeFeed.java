@@ -0,0 +1,228 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.common.OverloadedException;
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.ProductChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 문제: 프론트엔드가 변경 감지를 위해 수 초마다 /product/list, /product/category/list를 다시 조회 (읽기 부하의 대부분).
+ * 개선안: 커밋된 변경을 SSE로 push (GET /product/changes).
+ * 1. 커밋 이후 이벤트(단건/일괄)에 sequence를 붙여 링 버퍼(ProductChangeRing)에 기록.
+ * 2. 구독자마다 전용 가상 스레드가 자기 위치부터 버퍼를 읽어 전송. 느린 구독자는 자기 스레드만 막히고,
+ *    커밋 스레드는 버퍼 기록만 하므로 구독자 수/속도와 무관.
+ * 3. 재연결 시 Last-Event-ID(또는 after)부터 이어서 전송. 이미 버퍼에서 밀려난 위치이거나 다른 기동 시점의
+ *    id면 reset 이벤트를 보내고 최신 위치부터 이어감 (클라이언트는 목록을 한 번 다시 조회).
+ * 4. category 지정 시 해당 카테고리로 들어오거나 나간 변경만 전송.
+ *
+ * 이벤트 id는 "{epoch}-{sequence}". epoch는 기동마다 달라 재기동 전 id로 잘못 이어 받지 않음 (CatalogVersion과 같은 방식).
+ * 연결이 유지되는 동안 heartbeat 간격으로 주석 행을 보내 프록시 유휴 타임아웃과 끊긴 연결을 감지.
+ */
+@Slf4j
+@Component
+public class ProductChangeFeed implements SmartLifecycle {
+
+    static final String RESET_EVENT = "reset";
+    private static final int MAX_EVENTS_PER_READ = 256;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE));
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ProductChangeRing ring;
+    private final Duration heartbeat;
+    private final Duration emitterTimeout;
+    private final Duration retryAfter;
+    private final int maxSubscribers;
+    private final Counter resets;
+
+    private volatile boolean running;
+
+    public ProductChangeFeed(MeterRegistry meterRegistry,
+                             @Value("${product.feed.buffer-size:10000}") int bufferSize,
+                             @Value("${product.feed.heartbeat:PT15S}") Duration heartbeat,
+                             @Value("${product.feed.emitter-timeout:PT30M}") Duration emitterTimeout,
+                             @Value("${product.feed.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${product.feed.retry-after:PT5S}") Duration retryAfter) {
+        this.ring = new ProductChangeRing(bufferSize);
+        this.heartbeat = heartbeat;
+        this.emitterTimeout = emitterTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("product.feed.subscribers", subscribers, Map::size).register(meterRegistry);
+        Gauge.builder("product.feed.sequence", ring, ProductChangeRing::latest).register(meterRegistry);
+        this.resets = Counter.builder("product.feed.resets").register(meterRegistry);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ring.append(sequence -> ProductChange.of(sequence, event));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        ring.append(sequence -> ProductChange.of(sequence, event));
+    }
+
+    /*
+     * lastEventId가 없으면 구독 이후의 변경부터 전송.
+     */
+    public SseEmitter subscribe(String category, String lastEventId) {
+        if (!running) {
+            throw new OverloadedException("change feed is not running", retryAfter);
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new OverloadedException("too many change feed subscribers (max=" + maxSubscribers + ")", retryAfter);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        long id = subscriberIds.incrementAndGet();
+        Subscriber subscriber = new Subscriber(emitter, category);
+        subscribers.put(id, subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        long after = resumePoint(lastEventId);
+        subscriber.thread = Thread.ofVirtual()
+                .name("product-change-feed-" + id)
+                .start(() -> {
+                    try {
+                        deliver(subscriber, after);
+                    } finally {
+                        subscribers.remove(id);
+                    }
+                });
+        return emitter;
+    }
+
+    private void deliver(Subscriber subscriber, long after) {
+        long cursor = after;
+        try {
+            // 알 수 없는 id로 재연결한 경우 이어 받을 위치가 없으므로 즉시 reset.
+            if (cursor < 0) {
+                cursor = reset(subscriber, ring.latest());
+            }
+            while (running && !subscriber.closed) {
+                ProductChangeRing.Read read = ring.readAfter(cursor, MAX_EVENTS_PER_READ, heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (read.gap()) {
+                    cursor = reset(subscriber, read.latest());
+                    continue;
+                }
+                if (read.changes().isEmpty()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                for (ProductChange change : read.changes()) {
+                    if (change.concerns(subscriber.category)) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(eventId(change.sequence()))
+                                .name(change.type().name())
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+                    cursor = change.sequence();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 또는 이미 완료된 emitter.
+            log.debug("change feed subscriber disconnected :: {}", e.getMessage());
+        } finally {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private long reset(Subscriber subscriber, long latest) throws IOException {
+        resets.increment();
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventId(latest))
+                .name(RESET_EVENT)
+                .data(Map.of("sequence", latest), MediaType.APPLICATION_JSON));
+        return latest;
+    }
+
+    /*
+     * "{epoch}-{sequence}" 형식이고 epoch가 현재 기동과 같으면 sequence, 없으면 현재 위치, 그 외에는 -1(reset 대상).
+     */
+    private long resumePoint(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return ring.latest();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /*
+     * 기본 phase(가장 높음)라 웹 서버의 graceful shutdown보다 먼저 멈춤.
+     * 열린 스트림을 먼저 닫아야 graceful shutdown이 끝나지 않는 SSE 요청을 기다리지 않음.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        subscribers.values().forEach(Subscriber::close);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String category;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        Subscriber(SseEmitter emitter, String category) {
+            this.emitter = emitter;
+            this.category = category;
+        }
+
+        void close() {
+            closed = true;
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+    }
+}
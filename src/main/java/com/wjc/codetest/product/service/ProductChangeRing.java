@@ -0,0 +1,84 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/*
+ * 최근 capacity건의 변경을 보관하는 고정 크기 링 버퍼. sequence는 1부터 1씩 증가.
+ * - append: 배열 한 칸 기록 + 대기 중인 구독자 깨우기. 구독자 수/속도와 무관한 O(1)이라 커밋 스레드를 붙잡지 않음.
+ * - readAfter: after 다음 sequence부터 읽음. 이미 덮어써진 위치(너무 늦은 구독자)면 gap으로 알림.
+ */
+final class ProductChangeRing {
+
+    private final ProductChange[] slots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long latest;
+
+    ProductChangeRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.slots = new ProductChange[capacity];
+    }
+
+    /*
+     * 다음 sequence를 배정하여 기록. 배정과 기록을 같은 락 안에서 하여 버퍼 순서 = sequence 순서.
+     */
+    ProductChange append(LongFunction<ProductChange> create) {
+        lock.lock();
+        try {
+            ProductChange change = create.apply(latest + 1);
+            latest = change.sequence();
+            slots[(int) (latest % slots.length)] = change;
+            appended.signalAll();
+            return change;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long latest() {
+        lock.lock();
+        try {
+            return latest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * after 이후의 변경을 최대 max건 반환. 새 변경이 없으면 timeout까지 대기 (없으면 빈 결과).
+     * after가 버퍼에 남은 가장 오래된 변경보다 앞이거나 latest보다 크면 gap.
+     */
+    Read readAfter(long after, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = unit.toNanos(timeout);
+            while (after == latest && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            long oldest = Math.max(1, latest - slots.length + 1);
+            if (after > latest || after + 1 < oldest) {
+                return new Read(List.of(), true, latest);
+            }
+            long to = Math.min(latest, after + max);
+            List<ProductChange> changes = new ArrayList<>((int) (to - after));
+            for (long sequence = after + 1; sequence <= to; sequence++) {
+                changes.add(slots[(int) (sequence % slots.length)]);
+            }
+            return new Read(changes, false, latest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record Read(List<ProductChange> changes, boolean gap, long latest) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.wjc.codetest.product.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.ExportFormat;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+ * 문제: 카테고리 전체를 받으려면 /product/list를 수천 번 호출해야 하고, 응답마다 List<Product>를 통째로 메모리에 올림.
+ * 개선안:
+ * 1. Stream<Product> + JDBC fetch size로 한 번의 쿼리를 커서처럼 읽음.
+ * 2. 읽은 행은 즉시 출력 스트림에 쓰고 영속성 컨텍스트에서 detach -> 행 수와 무관하게 힙 사용량 일정.
+ * 3. 응답 본문을 직접 쓰므로 중간 컬렉션/DTO를 만들지 않음.
+ *
+ * ps. Stream은 트랜잭션 안에서만 소비 가능하므로 export 전체를 readOnly 트랜잭션으로 감쌈.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ProductShards productShards;
+
+    @Transactional(readOnly = true)
+    public long export(String category, ExportFormat format, OutputStream out) throws IOException {
+        productShards.bind(category);
+        try (Stream<Product> products = productRepository.streamAllByCategory(category)) {
+            long rows = switch (format) {
+                case NDJSON -> writeNdjson(products.iterator(), out);
+                case CSV -> writeCsv(products.iterator(), out);
+            };
+            log.info("product export :: category={}, format={}, rows={}", category, format, rows);
+            return rows;
+        }
+    }
+
+    private long writeNdjson(Iterator<Product> products, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 스트림을 닫는 것은 서블릿 컨테이너의 몫.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (products.hasNext()) {
+                Product product = products.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", product.getId());
+                generator.writeStringField("category", product.getCategory());
+                generator.writeStringField("name", product.getName());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                entityManager.detach(product);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Product> products, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("product_id,category,name\n");
+        while (products.hasNext()) {
+            Product product = products.next();
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writer.write(csv(product.getCategory()));
+            writer.write(',');
+            writer.write(csv(product.getName()));
+            writer.write('\n');
+            entityManager.detach(product);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,238 @@
+package com.wjc.codetest.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wjc.codetest.common.BackpressureException;
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.response.ProductIngestionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 문제: 외부 피드의 상품 등록 속도가 요청 1건 = 트랜잭션 1개(ProductService.create)의 커밋 속도보다 빠름.
+ * 개선안: write-behind 큐.
+ * 1. 요청은 크기 제한 큐에 넣고 즉시 trackingId 반환(202). 큐가 가득 차면 BackpressureException(429).
+ * 2. 단일 flusher 스레드가 큐에 쌓인 만큼(최대 batchSize) 꺼내 배치 하나 = 트랜잭션 하나로 커밋.
+ *    부하가 높을수록 커밋 사이에 큐가 차므로 배치가 자연히 커짐 (별도 대기 시간 없음).
+ * 3. 배치가 실패하면 한 건씩 다시 커밋하여 실패 행만 FAILED 처리.
+ * 4. 종료 시 새 요청을 거절하고 큐에 남은 요청을 모두 커밋한 뒤 멈춤 (shutdown-timeout까지).
+ *    웹 서버가 먼저 멈추도록 phase를 웹 서버 lifecycle보다 낮게 지정.
+ *
+ * 처리 상태는 trackingId 기준으로 일정 시간 보관 (GET /product/ingest/{trackingId}).
+ */
+@Slf4j
+@Component
+public class ProductIngestionQueue implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Pending> queue;
+    private final Cache<String, ProductIngestionStatus> statuses;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductShards productShards;
+    private final int batchSize;
+    private final Duration retryAfter;
+    private final Duration shutdownTimeout;
+
+    // 큐 적재(read)와 종료 전환(write)을 배제하여, 종료 후 마지막 drain 이후에 들어오는 요청이 없도록 보장.
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+    private Thread flusher;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter committed;
+    private final Counter failed;
+    private final DistributionSummary batchRows;
+
+    public ProductIngestionQueue(EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ProductShards productShards,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${product.ingest.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${product.ingest.batch-size:500}") int batchSize,
+                                 @Value("${product.ingest.retry-after:PT1S}") Duration retryAfter,
+                                 @Value("${product.ingest.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                                 @Value("${product.ingest.status-retention:PT1H}") Duration statusRetention) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(Math.max(queueCapacity * 10L, 100_000L))
+                .expireAfterWrite(statusRetention)
+                .build();
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.productShards = productShards;
+        this.batchSize = batchSize;
+        this.retryAfter = retryAfter;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("product.ingest.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        this.accepted = Counter.builder("product.ingest.requests").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("product.ingest.requests").tag("result", "rejected").register(meterRegistry);
+        this.committed = Counter.builder("product.ingest.rows").tag("result", "committed").register(meterRegistry);
+        this.failed = Counter.builder("product.ingest.rows").tag("result", "failed").register(meterRegistry);
+        this.batchRows = DistributionSummary.builder("product.ingest.batch.rows").register(meterRegistry);
+    }
+
+    public ProductIngestionStatus enqueue(CreateProductRequest dto) {
+        acceptLock.readLock().lock();
+        try {
+            if (!accepting) {
+                rejected.increment();
+                throw new BackpressureException("product ingestion is not accepting requests", retryAfter);
+            }
+            ProductIngestionStatus status = ProductIngestionStatus.queued(UUID.randomUUID().toString());
+            // flusher가 먼저 처리해도 QUEUED로 덮어쓰지 않도록 상태를 큐 적재 전에 기록.
+            statuses.put(status.trackingId(), status);
+            if (!queue.offer(new Pending(status, dto))) {
+                statuses.invalidate(status.trackingId());
+                rejected.increment();
+                throw new BackpressureException("product ingestion queue is full", retryAfter);
+            }
+            accepted.increment();
+            return status;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    public Optional<ProductIngestionStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        flusher = new Thread(this::drainLoop, "product-ingest-flusher");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        log.info("product ingestion stopping :: draining {} queued requests", queue.size());
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.error("product ingestion drain timed out :: {} requests not committed", queue.size());
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null && flusher.isAlive();
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버(graceful shutdown 포함)가 멈춘 뒤에 drain.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            Pending first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                // 거절 상태로 전환된 뒤 큐가 비었으면 더 들어올 요청이 없음.
+                if (!accepting) {
+                    break;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            // 샤딩 모드에서는 배치를 샤드별로 나누어 샤드마다 커밋 (한 건씩 재시도도 같은 샤드 안에서).
+            productShards.forEachShard(batch, pending -> pending.request().getCategory(), this::flush);
+            batch.clear();
+        }
+        log.info("product ingestion flusher stopped :: remaining={}", queue.size());
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insertBatch(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                statuses.put(pending.status().trackingId(), pending.status().committed(ids.get(i)));
+            }
+            committed.increment(batch.size());
+            batchRows.record(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                Pending pending = batch.get(0);
+                statuses.put(pending.status().trackingId(), pending.status().failed(e.getMessage()));
+                failed.increment();
+                log.warn("product ingestion failed :: trackingId={}, cause={}", pending.status().trackingId(), e.getMessage());
+                return;
+            }
+            // 어느 행이 원인인지 알 수 없으므로 한 건씩 다시 커밋.
+            log.warn("product ingestion batch rolled back, retrying row by row :: rows={}, cause={}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                flush(List.of(pending));
+            }
+        }
+    }
+
+    private List<Long> insertBatch(List<Pending> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Product product = new Product(pending.request().getCategory(), pending.request().getName());
+            entityManager.persist(product);
+            eventPublisher.publishEvent(ProductChangedEvent.created(product));
+            ids.add(product.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private record Pending(ProductIngestionStatus status, CreateProductRequest request) {
+    }
+}
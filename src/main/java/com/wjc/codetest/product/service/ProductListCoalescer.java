@@ -0,0 +1,50 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.common.SingleFlight;
+import com.wjc.codetest.datasource.PrimaryPinning;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/*
+ * 카테고리 목록 조회 병합.
+ * 키에 카탈로그 ETag(커밋마다 바뀌는 워터마크)를 포함하므로, 쓰기가 커밋된 뒤의 호출은 이전 조회에 합류하지 않음.
+ * product.list.coalescing.enabled=false 이면 항상 직접 조회 (같은 요청을 반복하는 부하 벤치마크에서 DB 경로를 측정할 때).
+ */
+@Component
+public class ProductListCoalescer {
+
+    private final SingleFlight<Key, Object> loads;
+    private final CatalogVersion catalogVersion;
+    private final boolean enabled;
+
+    public ProductListCoalescer(CatalogVersion catalogVersion,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.list.coalescing.enabled:true}") boolean enabled) {
+        this.catalogVersion = catalogVersion;
+        this.loads = new SingleFlight<>("product-list", meterRegistry);
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object request, Supplier<T> loader) {
+        // primary 고정 요청이 레플리카를 읽는 다른 요청의 결과에 합류하지 않도록 병합하지 않음.
+        if (!enabled || PrimaryPinning.isPinned()) {
+            return loader.get();
+        }
+        return (T) loads.execute(new Key(catalogVersion.eTag(), request), loader::get);
+    }
+
+    public long executedCount() {
+        return loads.executedCount();
+    }
+
+    public long coalescedCount() {
+        return loads.coalescedCount();
+    }
+
+    private record Key(String catalogETag, Object request) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 로컬/CI용 레플리카(별도 H2) 동기화 피드.
+ * - 커밋된 상품 변경 이벤트를 "어떤 행/카테고리가 바뀌었는지"만 큐에 적재.
+ * - 단일 applier 스레드가 큐를 꺼내 primary의 현재 상태를 다시 읽어 레플리카에 덮어씀(삭제 후 삽입).
+ *   항상 현재 상태를 복사하므로 이벤트 순서가 뒤바뀌어도 결과가 같고, 쌓인 변경은 한 번에 묶어 적용.
+ * - lag 설정 시 변경 후 해당 시간이 지나야 적용 (복제 지연 재현).
+ * - 적용 후 단건 캐시를 무효화하고 카탈로그 워터마크를 올려, 지연 구간에 레플리카에서 읽어 캐싱/ETag가 붙은
+ *   이전 데이터가 계속 남지 않도록 함.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.datasource.replica", name = "enabled", havingValue = "true")
+public class ProductReplicationFeed implements SmartLifecycle {
+
+    private static final int MAX_OPS_PER_APPLY = 10_000;
+    private static final int ROWS_PER_BATCH = 1_000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private static final String SELECT_COLUMNS = "SELECT product_id, category, name, version FROM product";
+    private static final String INSERT_ROW = "INSERT INTO product (product_id, category, name, version) VALUES (:id, :category, :name, :version)";
+
+    private final DelayQueue<ReplicationOp> pending = new DelayQueue<>();
+    private final NamedParameterJdbcTemplate primary;
+    private final NamedParameterJdbcTemplate replica;
+    private final TransactionTemplate replicaTransaction;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+    private final Duration lag;
+
+    private volatile boolean running;
+    private Thread applier;
+
+    public ProductReplicationFeed(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                  @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                  ProductCache productCache,
+                                  CatalogVersion catalogVersion,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${product.datasource.replica.lag:PT0S}") Duration lag) {
+        // 레플리카 스키마는 primary와 같은 마이그레이션으로 생성.
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        this.primary = new NamedParameterJdbcTemplate(primaryDataSource);
+        this.replica = new NamedParameterJdbcTemplate(replicaDataSource);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replicaDataSource));
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
+        this.lag = lag;
+
+        Gauge.builder("product.replica.pending", pending, DelayQueue::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        pending.add(new ReplicationOp(Set.of(event.productId()), Set.of(), readyAt(lag)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        if (event.productIds() != null) {
+            pending.add(new ReplicationOp(Set.copyOf(event.productIds()), Set.of(), readyAt(lag)));
+            return;
+        }
+        Set<String> categories = new HashSet<>();
+        categories.add(event.category());
+        if (event.newCategory() != null) {
+            categories.add(event.newCategory());
+        }
+        pending.add(new ReplicationOp(Set.of(), categories, readyAt(lag)));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        applier = new Thread(this::applyLoop, "product-replication-feed");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        applier.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void applyLoop() {
+        List<ReplicationOp> ops = new ArrayList<>();
+        while (running) {
+            try {
+                ops.add(pending.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // 이미 적용 시점이 지난 변경은 함께 처리.
+            pending.drainTo(ops, MAX_OPS_PER_APPLY - 1);
+
+            Set<Long> ids = new HashSet<>();
+            Set<String> categories = new HashSet<>();
+            for (ReplicationOp op : ops) {
+                ids.addAll(op.productIds());
+                categories.addAll(op.categories());
+            }
+            try {
+                replicaTransaction.executeWithoutResult(status -> {
+                    categories.forEach(this::copyCategory);
+                    copyRows(ids);
+                });
+                afterApply(ids, categories);
+            } catch (RuntimeException e) {
+                log.error("product replication failed, retrying :: ids={}, categories={}", ids.size(), categories, e);
+                ops.forEach(op -> pending.add(op.retryAt(readyAt(RETRY_DELAY))));
+            }
+            ops.clear();
+        }
+    }
+
+    private void copyCategory(String category) {
+        MapSqlParameterSource params = new MapSqlParameterSource("category", category);
+        replica.update("DELETE FROM product WHERE category = :category", params);
+        List<MapSqlParameterSource> rows = new ArrayList<>(ROWS_PER_BATCH);
+        primary.query(SELECT_COLUMNS + " WHERE category = :category", params, rs -> {
+            rows.add(new MapSqlParameterSource()
+                    .addValue("id", rs.getLong("product_id"))
+                    .addValue("category", rs.getString("category"))
+                    .addValue("name", rs.getString("name"))
+                    .addValue("version", rs.getLong("version")));
+            if (rows.size() == ROWS_PER_BATCH) {
+                insertRows(rows);
+            }
+        });
+        insertRows(rows);
+    }
+
+    private void copyRows(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += ROWS_PER_BATCH) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", all.subList(from, Math.min(from + ROWS_PER_BATCH, all.size())));
+            // primary에 없는 id(삭제된 행)는 삭제만 되고 다시 삽입되지 않음.
+            replica.update("DELETE FROM product WHERE product_id IN (:ids)", params);
+            List<MapSqlParameterSource> rows = primary.query(SELECT_COLUMNS + " WHERE product_id IN (:ids)", params,
+                    (rs, rowNum) -> new MapSqlParameterSource()
+                            .addValue("id", rs.getLong("product_id"))
+                            .addValue("category", rs.getString("category"))
+                            .addValue("name", rs.getString("name"))
+                            .addValue("version", rs.getLong("version")));
+            insertRows(rows);
+        }
+    }
+
+    private void insertRows(List<MapSqlParameterSource> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        replica.batchUpdate(INSERT_ROW, rows.toArray(MapSqlParameterSource[]::new));
+        rows.clear();
+    }
+
+    private void afterApply(Set<Long> ids, Set<String> categories) {
+        if (categories.isEmpty()) {
+            ids.forEach(productCache::invalidate);
+        } else {
+            productCache.invalidateAll();
+        }
+        catalogVersion.advance();
+    }
+
+    private static long readyAt(Duration delay) {
+        return System.nanoTime() + delay.toNanos();
+    }
+
+    private record ReplicationOp(Set<Long> productIds, Set<String> categories, long readyAtNanos) implements Delayed {
+
+        ReplicationOp retryAt(long readyAtNanos) {
+            return new ReplicationOp(productIds, categories, readyAtNanos);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAtNanos, ((ReplicationOp) other).readyAtNanos);
+        }
+    }
+}
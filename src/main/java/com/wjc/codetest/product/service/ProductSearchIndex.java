@@ -0,0 +1,632 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/*
+ * 문제: 상품명 검색 수단이 없고, LIKE '%x%'는 인덱스를 쓰지 못해 테이블 전체를 스캔.
+ * 개선안: 프로세스 내 n-gram 역색인.
+ * 1. 카테고리별 파티션마다 상품명 trigram -> 상품 id 목록(primitive long 배열)을 유지.
+ * 2. 3글자 이상 검색어: trigram 중 목록이 가장 짧은 것만 후보로 읽고, 원문 포함 여부로 검증.
+ *    1~2글자 검색어: 단어 시작 prefix(^a, ^ab) 목록으로 단어 prefix 검색.
+ * 3. 순위: 상품명 prefix 일치 > 단어 prefix 일치 > 부분 일치, 같은 등급은 일치 위치, 이름 길이, id 순.
+ * 4. 기동 시 전체 적재 후, 상품 변경 이벤트(커밋 이후)로 증분 반영.
+ *    - id 목록은 id 오름차순 배열 + 삭제 표시(tombstone). 삭제는 이분 탐색 후 표시만 하고, 삭제분이 절반을 넘으면 압축.
+ *      ("product-{n}"의 "pro"처럼 흔한 키의 목록은 카테고리 크기에 가까우므로 선형 탐색/이동으로 지우면 일괄 변경이 O(N^2)).
+ *    - 단건 수정은 변경 전후 이름에서 달라진 키만 반영.
+ *    - 카테고리 삭제는 파티션을 통째로 제거, 카테고리 이름 변경은 파티션 키만 교체 (대상 카테고리가 있으면 목록을 병합).
+ *    - 변경 반영은 하나씩 직렬화하고(writeMutex), 검색과는 파티션 단위 read/write lock으로 분리.
+ *
+ * 트레이드 오프:
+ * - 상품 수에 비례하는 힙 사용 (상품명 길이만큼의 posting + 원문). 삭제 표시는 압축 전까지 남음.
+ * - 1~2글자 검색어는 단어 중간 부분 일치를 지원하지 않음.
+ * - 전체 스캔을 피하는 것은 선택도가 높은 검색어뿐. 대부분의 상품명에 들어 있는 검색어(예: "product-{n}" 형식에서 "prod")는
+ *   가장 짧은 posting도 파티션 전체이므로 모든 상품을 읽어 검증하고, totalMatches 집계도 일치 건수 전체에 비례.
+ * - 기존 id보다 작은 id가 목록에 추가되면(다른 카테고리에서 옮겨 온 상품 등) 배열 이동 비용이 목록 길이에 비례.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final String PREFIX_MARK = "^";
+    // ConcurrentHashMap은 null 키를 허용하지 않으므로 category null 상품용 파티션 키.
+    private static final String NULL_CATEGORY = "\u0000";
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::tier)
+            .thenComparingInt(Match::position)
+            .thenComparingInt(match -> match.document().normalizedName().length())
+            .thenComparingLong(match -> match.document().id());
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductShards productShards;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Object writeMutex = new Object();
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ProductShards productShards) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.productShards = productShards;
+    }
+
+    /*
+     * 조회 순서가 id 순이라는 보장이 없으므로 목록 끝에 붙이기만 하고, 적재가 끝난 뒤 한 번 정렬.
+     * (이벤트 리스너는 모든 빈 초기화 이후에 등록되므로 적재 중에는 변경 반영이 없음)
+     */
+    @PostConstruct
+    public void init() {
+        long started = System.nanoTime();
+        productShards.forEachShard(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAll()) {
+                products.forEach(product -> {
+                    load(product.getId(), product.getCategory(), product.getName());
+                    entityManager.detach(product);
+                });
+            }
+        }));
+        partitions.values().forEach(Partition::sort);
+        log.info("product search index built :: {} products, {} partitions, {}ms",
+                documents.size(), partitions.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public ProductSearchResponse search(String query, String category, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be blank");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must be >= 0");
+        }
+        if (size < 1 || size > GetProductListRequest.MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + GetProductListRequest.MAX_SIZE);
+        }
+        // (page + 1) * size가 int 범위를 넘으면 ArithmeticException(500) 대신 400.
+        if (page > Integer.MAX_VALUE / size - 1) {
+            throw new IllegalArgumentException("page is too large");
+        }
+
+        String normalized = normalize(query);
+        int limit = (page + 1) * size;
+        // 순위가 가장 낮은 것이 먼저 빠지도록 역순 힙으로 상위 limit개만 유지.
+        PriorityQueue<Match> top = new PriorityQueue<>(RANKING.reversed());
+        long total = 0;
+
+        if (category != null) {
+            Partition partition = partitions.get(category);
+            if (partition != null) {
+                total += partition.search(normalized, documents, top, limit);
+            }
+        } else {
+            for (Partition partition : partitions.values()) {
+                total += partition.search(normalized, documents, top, limit);
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        int from = Math.min(page * size, ranked.size());
+        List<ProductSearchResponse.Hit> hits = ranked.subList(from, ranked.size()).stream()
+                .map(match -> new ProductSearchResponse.Hit(match.document().id(), match.category(), match.document().name()))
+                .toList();
+        return new ProductSearchResponse(hits, total, page, size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            remove(event.productId());
+        } else {
+            put(event.productId(), event.category(), event.name());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductBulkChanged(ProductBulkChangedEvent event) {
+        switch (event.type()) {
+            case DELETE_IDS -> event.productIds().forEach(this::remove);
+            case DELETE_CATEGORY -> dropPartition(event.category());
+            case RENAME_CATEGORY -> renamePartition(event.category(), event.newCategory());
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void load(Long id, String category, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        Partition partition = partitions.computeIfAbsent(partitionKey(category), key -> new Partition(category));
+        Document document = new Document(id, name, normalize(name), partition);
+        documents.put(id, document);
+        partition.append(id, keys(document.normalizedName()));
+    }
+
+    private void put(Long id, String category, String name) {
+        if (id == null) {
+            return;
+        }
+        if (name == null) {
+            remove(id);
+            return;
+        }
+        synchronized (writeMutex) {
+            Document previous = documents.get(id);
+            Partition partition = partitions.computeIfAbsent(partitionKey(category), key -> new Partition(category));
+            Document document = new Document(id, name, normalize(name), partition);
+            List<String> keys = keys(document.normalizedName());
+
+            if (previous != null && previous.partition() == partition) {
+                List<String> previousKeys = keys(previous.normalizedName());
+                documents.put(id, document);
+                partition.replaceKeys(id, without(previousKeys, keys), without(keys, previousKeys));
+                return;
+            }
+            if (previous != null) {
+                unindex(previous);
+            }
+            partition.add(id, keys);
+            documents.put(id, document);
+        }
+    }
+
+    private void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (writeMutex) {
+            Document document = documents.remove(id);
+            if (document != null) {
+                unindex(document);
+            }
+        }
+    }
+
+    private void unindex(Document document) {
+        Partition partition = document.partition();
+        partition.remove(document.id(), keys(document.normalizedName()));
+        if (partition.isEmpty()) {
+            partitions.remove(partition.key(), partition);
+        }
+    }
+
+    /*
+     * 파티션을 색인에서 떼어낸 뒤 문서만 제거 (posting은 파티션과 함께 버림). 비용은 카테고리 상품 수에 선형.
+     */
+    private void dropPartition(String category) {
+        synchronized (writeMutex) {
+            Partition partition = partitions.remove(partitionKey(category));
+            if (partition == null) {
+                return;
+            }
+            partition.forEachMember(id -> documents.computeIfPresent(id,
+                    (key, document) -> document.partition() == partition ? null : document));
+        }
+    }
+
+    /*
+     * 대상 카테고리가 없으면 파티션 키만 교체 (문서는 파티션을 참조하므로 그대로).
+     * 있으면 키별 정렬 목록을 대상 파티션으로 선형 병합하고 옮겨 온 문서의 파티션 참조만 교체.
+     */
+    private void renamePartition(String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        synchronized (writeMutex) {
+            Partition source = partitions.get(partitionKey(from));
+            if (source == null) {
+                return;
+            }
+            Partition target = partitions.get(partitionKey(to));
+            if (target == null) {
+                source.relabel(to);
+                partitions.put(partitionKey(to), source);
+                partitions.remove(partitionKey(from), source);
+                return;
+            }
+            target.absorb(source, () -> source.forEachMember(id -> documents.computeIfPresent(id,
+                    (key, document) -> document.partition() == source ? document.movedTo(target) : document)));
+            partitions.remove(partitionKey(from), source);
+        }
+    }
+
+    private static String partitionKey(String category) {
+        return category == null ? NULL_CATEGORY : category;
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * 색인 키: 전체 이름의 trigram + 각 단어의 1~2글자 prefix.
+     */
+    private static List<String> keys(String normalizedName) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i + GRAM <= normalizedName.length(); i++) {
+            keys.add(normalizedName.substring(i, i + GRAM));
+        }
+        for (String word : normalizedName.split("\\s+")) {
+            for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                keys.add(PREFIX_MARK + word.substring(0, length));
+            }
+        }
+        return keys.stream().distinct().toList();
+    }
+
+    private static List<String> without(List<String> keys, List<String> excluded) {
+        return keys.stream().filter(key -> !excluded.contains(key)).toList();
+    }
+
+    private static List<String> queryKeys(String normalizedQuery) {
+        if (normalizedQuery.length() < GRAM) {
+            return List.of(PREFIX_MARK + normalizedQuery);
+        }
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i + GRAM <= normalizedQuery.length(); i++) {
+            keys.add(normalizedQuery.substring(i, i + GRAM));
+        }
+        return keys;
+    }
+
+    private static Match match(Document document, String category, String normalizedQuery) {
+        String name = document.normalizedName();
+        int position = name.indexOf(normalizedQuery);
+        if (position < 0) {
+            return null;
+        }
+        if (position == 0) {
+            return new Match(document, category, 0, 0);
+        }
+        // 단어 시작 위치의 일치를 우선 탐색.
+        int at = position;
+        while (at >= 0) {
+            if (Character.isWhitespace(name.charAt(at - 1))) {
+                return new Match(document, category, 1, at);
+            }
+            at = name.indexOf(normalizedQuery, at + 1);
+        }
+        // 1~2글자 검색어는 단어 prefix만 지원.
+        return normalizedQuery.length() < GRAM ? null : new Match(document, category, 2, position);
+    }
+
+    /*
+     * 카테고리는 문서가 아니라 파티션이 가짐 (카테고리 이름 변경 시 문서를 다시 만들지 않도록).
+     */
+    private record Document(Long id, String name, String normalizedName, Partition partition) {
+
+        Document movedTo(Partition target) {
+            return new Document(id, name, normalizedName, target);
+        }
+    }
+
+    private record Match(Document document, String category, int tier, int position) {
+    }
+
+    private static final class Partition {
+        private volatile String category;
+        private final Map<String, LongList> postings = new HashMap<>();
+        private final LongList members = new LongList();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        Partition(String category) {
+            this.category = category;
+        }
+
+        String key() {
+            return partitionKey(category);
+        }
+
+        // 기동 적재 전용 (잠금/정렬 없이 추가, 적재 후 sort).
+        void append(long id, List<String> keys) {
+            members.append(id);
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new LongList()).append(id);
+            }
+        }
+
+        void sort() {
+            members.sort();
+            postings.values().forEach(LongList::sort);
+        }
+
+        void add(long id, List<String> keys) {
+            lock.writeLock().lock();
+            try {
+                members.add(id);
+                for (String key : keys) {
+                    postings.computeIfAbsent(key, k -> new LongList()).add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long id, List<String> keys) {
+            lock.writeLock().lock();
+            try {
+                members.remove(id);
+                removeKeys(id, keys);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void replaceKeys(long id, List<String> removed, List<String> added) {
+            if (removed.isEmpty() && added.isEmpty()) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                removeKeys(id, removed);
+                for (String key : added) {
+                    postings.computeIfAbsent(key, k -> new LongList()).add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeKeys(long id, List<String> keys) {
+            for (String key : keys) {
+                LongList list = postings.get(key);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+
+        void relabel(String category) {
+            lock.writeLock().lock();
+            try {
+                this.category = category;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /*
+         * source의 posting을 이 파티션으로 병합하고, 두 파티션 모두 잠근 상태에서 문서의 파티션 참조를 옮김(moveDocuments).
+         * 병합은 writeMutex 안에서만 일어나므로 두 잠금의 순서가 엇갈리지 않음.
+         */
+        void absorb(Partition source, Runnable moveDocuments) {
+            lock.writeLock().lock();
+            source.lock.writeLock().lock();
+            try {
+                members.addAll(source.members);
+                source.postings.forEach((key, list) -> postings.merge(key, list, (current, merged) -> {
+                    current.addAll(merged);
+                    return current;
+                }));
+                moveDocuments.run();
+            } finally {
+                source.lock.writeLock().unlock();
+                lock.writeLock().unlock();
+            }
+        }
+
+        // writeMutex 안에서만 호출 (members는 변경 반영 중에만 바뀜).
+        void forEachMember(LongConsumer action) {
+            members.forEach(action);
+        }
+
+        boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        long search(String normalizedQuery, Map<Long, Document> documents, PriorityQueue<Match> top, int limit) {
+            lock.readLock().lock();
+            try {
+                // 모든 키를 포함해야 일치하므로, 가장 짧은 posting만 후보로 사용하고 원문으로 검증.
+                LongList candidates = null;
+                for (String key : queryKeys(normalizedQuery)) {
+                    LongList list = postings.get(key);
+                    if (list == null) {
+                        return 0;
+                    }
+                    if (candidates == null || list.size() < candidates.size()) {
+                        candidates = list;
+                    }
+                }
+
+                String label = category;
+                long[] matched = new long[1];
+                candidates.forEach(id -> {
+                    Document document = documents.get(id);
+                    // 다른 파티션으로 옮겨지는 도중이거나 삭제 중인 문서는 제외.
+                    if (document == null || document.partition() != this) {
+                        return;
+                    }
+                    Match match = match(document, label, normalizedQuery);
+                    if (match == null) {
+                        return;
+                    }
+                    matched[0]++;
+                    top.offer(match);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                });
+                return matched[0];
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /*
+     * boxing 없는 id 목록. id 오름차순 배열 + 삭제 표시(dead).
+     * - 추가: 마지막 id보다 크면 끝에 붙임. 아니면 이분 탐색하여 삭제 표시된 같은 id는 되살리고, 없으면 삽입(배열 이동).
+     * - 삭제: 이분 탐색 후 표시만. 삭제 표시가 절반을 넘으면 압축하여 상각 O(log n).
+     */
+    private static final class LongList {
+        private static final int MIN_COMPACT_SIZE = 16;
+
+        private long[] values = new long[4];
+        private final BitSet dead = new BitSet();
+        private int size;
+        private int deadCount;
+        private boolean sorted = true;
+
+        void append(long value) {
+            if (size > 0 && values[size - 1] >= value) {
+                sorted = false;
+            }
+            grow(size + 1);
+            values[size++] = value;
+        }
+
+        void sort() {
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+        }
+
+        void add(long value) {
+            if (size == 0 || values[size - 1] < value) {
+                grow(size + 1);
+                values[size++] = value;
+                return;
+            }
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                if (dead.get(at)) {
+                    dead.clear(at);
+                    deadCount--;
+                }
+                return;
+            }
+            int insertAt = -at - 1;
+            grow(size + 1);
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            shiftDead(insertAt);
+            size++;
+        }
+
+        boolean remove(long value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at < 0 || dead.get(at)) {
+                return false;
+            }
+            dead.set(at);
+            deadCount++;
+            if (deadCount > size / 2 && size >= MIN_COMPACT_SIZE) {
+                compact();
+            }
+            return true;
+        }
+
+        // 두 정렬 목록의 살아 있는 id를 선형 병합.
+        void addAll(LongList other) {
+            long[] merged = new long[size() + other.size()];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (i < size && dead.get(i)) {
+                    i++;
+                } else if (j < other.size && other.dead.get(j)) {
+                    j++;
+                } else if (j >= other.size || (i < size && values[i] < other.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i >= size || other.values[j] < values[i]) {
+                    merged[count++] = other.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+            values = merged.length == 0 ? new long[4] : merged;
+            size = count;
+            dead.clear();
+            deadCount = 0;
+        }
+
+        void forEach(LongConsumer action) {
+            for (int i = 0; i < size; i++) {
+                if (!dead.get(i)) {
+                    action.accept(values[i]);
+                }
+            }
+        }
+
+        // 살아 있는 id 수.
+        int size() {
+            return size - deadCount;
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        private void grow(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+            }
+        }
+
+        // 삽입 위치 이후의 삭제 표시를 한 칸씩 뒤로.
+        private void shiftDead(int insertAt) {
+            if (deadCount == 0) {
+                return;
+            }
+            for (int i = dead.previousSetBit(size - 1); i >= insertAt; i = dead.previousSetBit(i - 1)) {
+                dead.clear(i);
+                dead.set(i + 1);
+            }
+        }
+
+        private void compact() {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!dead.get(i)) {
+                    values[count++] = values[i];
+                }
+            }
+            size = count;
+            dead.clear();
+            deadCount = 0;
+            if (values.length > 4 && size < values.length / 4) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+        }
+    }
+}
@@ -1,16 +1,32 @@
 package com.wjc.codetest.product.service;
 
 import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.DeleteCategoryRequest;
+import com.wjc.codetest.product.model.request.DeleteProductsRequest;
 import com.wjc.codetest.product.model.request.GetProductListRequest;
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.request.ProductCursor;
+import com.wjc.codetest.product.model.request.RenameCategoryRequest;
 import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import com.wjc.codetest.product.model.response.ProductCacheStats;
+import com.wjc.codetest.product.model.response.ProductCursorListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.repository.CategoryCount;
 import com.wjc.codetest.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -26,7 +42,19 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ProductService {
 
+    // 샤드 간 카테고리 이동 시 한 번에 옮기는 행 수.
+    private static final int MOVE_CHUNK = 1000;
+
     private final ProductRepository productRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final CategoryCounters categoryCounters;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogVersion catalogVersion;
+    private final ProductListCoalescer productListCoalescer;
+    private final ProductCatalogSnapshot productCatalogSnapshot;
+    private final ProductShards productShards;
+    private final ApplicationEventPublisher eventPublisher;
 
     /*
      * 공통 문제: @Transactional 누락으로 인한 데이터 일관성 및 성능 저하.
@@ -34,11 +62,15 @@ public class ProductService {
      * 1. 조회 메서드에는 @Transactional(readOnly = true) 추가.
      * 2. 생성/수정/삭제 메서드에는 @Transactional 추가.
      */
-            
+
+    @Transactional
     public Product create(CreateProductRequest dto) {
          Product product = new Product(dto.getCategory(), dto.getName());
 
-        return productRepository.save(product);
+        productShards.bind(dto.getCategory());
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(saved));
+        return saved;
     }
 
     /*
@@ -54,7 +86,34 @@ public class ProductService {
      * - 도메인별 커스텀 예외 처리로 클래스 파일 증가.
      * - 명확한 예외 처리 가능
      */
-    public Product getProductById(Long productId) {
+    public ProductResponse getProductById(Long productId) {
+        return productCache.get(productId, this::findProductResponse);
+    }
+
+    /*
+     * 샤딩 모드에서는 id로 샤드를 알 수 없으므로 모든 샤드에 병렬 조회.
+     * 샤드 간 이동 중에는 두 샤드에 같은 id가 잠시 있을 수 있어 버전이 높은 쪽을 사용.
+     */
+    private ProductResponse findProductResponse(Long productId) {
+        return productShards.scatter(true, () -> productRepository.findResponseById(productId)).stream()
+                .flatMap(Optional::stream)
+                .max(Comparator.comparing(ProductResponse::version))
+                .orElseThrow(() -> new RuntimeException("product not found"));
+    }
+
+    /*
+     * 캐시를 거치지 않는 조회. 수정/삭제는 영속 상태의 엔티티가 필요하므로 캐시 복사본을 사용하지 않음.
+     */
+    private Product findProduct(Long productId) {
+        // 샤딩 모드: 행이 있는 샤드를 찾아 현재 트랜잭션을 그 샤드로 고정한 뒤 영속 엔티티로 조회.
+        if (productShards.isEnabled()) {
+            List<Boolean> found = productShards.scatter(true, () -> productRepository.existsById(productId));
+            int shard = found.indexOf(Boolean.TRUE);
+            if (shard < 0) {
+                throw new RuntimeException("product not found");
+            }
+            productShards.bindShard(shard);
+        }
         Optional<Product> productOptional = productRepository.findById(productId);
         if (!productOptional.isPresent()) {
             throw new RuntimeException("product not found");
@@ -67,17 +126,54 @@ public class ProductService {
      * 원인: product.setCategory(dto.getCategory()), product.setName(dto.getName())
      * 개선안: product Entity에 수정이 필요한 필드에 대한 update 메서드 생성.
      */
+    @Transactional
     public Product update(UpdateProductRequest dto) {
-        Product product = getProductById(dto.getId());
+        Product product = findProduct(dto.getId());
+        // If-Match로 받은 버전과 다르면 클라이언트가 본 이후 다른 변경이 있었던 것 -> 412.
+        // 조회 이후 커밋 전 사이의 동시 수정은 flush 시 Hibernate 버전 검사에서 ObjectOptimisticLockingFailureException -> 409.
+        if (dto.getVersion() != null && !dto.getVersion().equals(product.getVersion())) {
+            throw new OptimisticLockingFailureException("product version mismatch");
+        }
+        // 커밋 전 1차 무효화. 커밋 후 2차 무효화는 ProductCache가 이벤트로 처리.
+        productCache.invalidate(product.getId());
+        String previousCategory = product.getCategory();
+        String previousName = product.getName();
+        if (productShards.shardOf(previousCategory) != productShards.shardOf(dto.getCategory())) {
+            Product moved = moveToShard(product, dto);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(previousCategory, previousName, moved));
+            return moved;
+        }
         product.setCategory(dto.getCategory());
         product.setName(dto.getName());
-        Product updatedProduct = productRepository.save(product);
+        // 응답 ETag에 증가된 버전을 담기 위해 즉시 flush.
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previousCategory, previousName, updatedProduct));
         return updatedProduct;
     }
 
+    /*
+     * 카테고리 변경으로 샤드가 바뀌는 수정: 대상 샤드에 같은 id/증가된 버전으로 먼저 기록(즉시 커밋)하고,
+     * 현재 트랜잭션(원래 샤드)에서 기존 행을 삭제. 삭제가 버전 검사로 실패해 롤백되면 복사한 행도 제거됨(ProductShards.copyTo).
+     */
+    private Product moveToShard(Product product, UpdateProductRequest dto) {
+        long nextVersion = product.getVersion() + 1;
+        productShards.copyTo(productShards.shardOf(dto.getCategory()),
+                List.of(new ProductResponse(product.getId(), dto.getCategory(), dto.getName(), nextVersion)));
+        productRepository.delete(product);
+        productRepository.flush();
+
+        Product moved = new Product(dto.getCategory(), dto.getName());
+        moved.setId(product.getId());
+        moved.setVersion(nextVersion);
+        return moved;
+    }
+
+    @Transactional
     public void deleteById(Long productId) {
-        Product product = getProductById(productId);
+        Product product = findProduct(productId);
+        productCache.invalidate(productId);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
     }
 
     /*
@@ -91,12 +187,193 @@ public class ProductService {
      * 1. Service는 비즈니스 로직에 집중해야 하기 때문에 요청 값에 대한 로직은 Controller에서 수행.
      * 2. DTO에서 유효성 검증 어노테이션 추가하여 사전에 차단.
      */
-    public Page<Product> getListByCategory(GetProductListRequest dto) {
-        PageRequest pageRequest = PageRequest.of(dto.getPage(), dto.getSize(), Sort.by(Sort.Direction.ASC, "category"));
-        return productRepository.findAllByCategory(dto.getCategory(), pageRequest);
+    /*
+     * 동일 조건의 동시 요청은 한 번만 조회하고 결과를 공유(ProductListCoalescer).
+     * 병합 대기 중인 호출자가 커넥션을 점유하지 않도록 서비스 메서드에는 트랜잭션을 두지 않고,
+     * 실제 조회하는 호출자만 Repository의 readOnly 트랜잭션을 사용.
+     */
+    public Page<ProductResponse> getListByCategory(GetProductListRequest dto) {
+        dto.validateSize();
+        // category 동등 조건이라 category 정렬만으로는 순서가 보장되지 않음 -> product_id를 보조 정렬키로 추가.
+        Sort sort = Sort.by(Sort.Direction.ASC, "category").and(Sort.by(Sort.Direction.ASC, "id"));
+        PageRequest pageRequest = PageRequest.of(dto.getPage(), dto.getSize(), sort);
+        // 메모리 스냅샷 모드면 DB 없이 응답 (순서/전체 건수는 DB 경로와 동일).
+        if (productCatalogSnapshot.isEnabled()) {
+            return productCatalogSnapshot.page(dto.getCategory(), pageRequest);
+        }
+        // 카테고리 단위 조회는 해당 샤드 하나만 사용.
+        int shard = productShards.shardOf(dto.getCategory());
+        // 응답에 필요한 세 필드만 projection으로 조회 (엔티티 hydration 없음).
+        return productListCoalescer.load(new OffsetListKey(dto.getCategory(), dto.getPage(), dto.getSize()),
+                () -> productShards.onShard(shard, true, () -> productRepository.findResponsesByCategory(dto.getCategory(), pageRequest)));
+    }
+
+    /*
+     * keyset(cursor) 페이징.
+     * size + 1건을 조회하여 다음 페이지 존재 여부를 판단하므로 count 쿼리가 필요 없음.
+     * 커서의 category와 요청 category가 다르면 잘못된 위치에서 이어 읽게 되므로 거부.
+     */
+    public ProductCursorListResponse getCursorListByCategory(GetProductListRequest dto) {
+        dto.validateSize();
+
+        long lastId = 0L;
+        if (dto.getAfter() != null) {
+            ProductCursor cursor = ProductCursor.decode(dto.getAfter());
+            if (!cursor.category().equals(dto.getCategory())) {
+                throw new IllegalArgumentException("cursor does not match category");
+            }
+            lastId = cursor.lastId();
+        }
+
+        long seek = lastId;
+        int shard = productShards.shardOf(dto.getCategory());
+        return productListCoalescer.load(new CursorListKey(dto.getCategory(), seek, dto.getSize()), () -> {
+            List<ProductResponse> rows = productShards.onShard(shard, true,
+                    () -> productRepository.findNextByCategory(dto.getCategory(), seek, Limit.of(dto.getSize() + 1)));
+            boolean hasNext = rows.size() > dto.getSize();
+            List<ProductResponse> content = hasNext ? rows.subList(0, dto.getSize()) : rows;
+            String nextCursor = hasNext
+                    ? new ProductCursor(dto.getCategory(), content.get(content.size() - 1).id()).encode()
+                    : null;
+            return new ProductCursorListResponse(content, nextCursor, hasNext);
+        });
     }
 
+    private record OffsetListKey(String category, int page, int size) {
+    }
+
+    private record CursorListKey(String category, long lastId, int size) {
+    }
+
+    /*
+     * SELECT DISTINCT 전체 스캔 대신 메모리 레지스트리에서 조회 (SQL 없음).
+     */
     public List<String> getUniqueCategories() {
-        return productRepository.findDistinctCategories();
+        return categoryRegistry.categories();
+    }
+
+    /*
+     * 일괄 변경: 엔티티 로딩/merge/dirty checking 없이 단일 UPDATE/DELETE로 처리.
+     * 캐시는 커밋 전/후 두 번 무효화(단건과 동일), 레지스트리는 커밋 후 이벤트로 반영.
+     */
+    @Transactional
+    public long renameCategory(RenameCategoryRequest dto) {
+        if (dto.from() == null || dto.to() == null || dto.from().equals(dto.to())) {
+            throw new IllegalArgumentException("from and to must be different non-null categories");
+        }
+        productCache.invalidateAll();
+        int affected = productShards.shardOf(dto.from()) == productShards.shardOf(dto.to())
+                ? renameInShard(dto)
+                : moveCategory(dto);
+        if (affected > 0) {
+            eventPublisher.publishEvent(ProductBulkChangedEvent.categoryRenamed(dto.from(), dto.to(), affected));
+        }
+        return affected;
+    }
+
+    private int renameInShard(RenameCategoryRequest dto) {
+        productShards.bind(dto.from());
+        return productRepository.renameCategory(dto.from(), dto.to());
+    }
+
+    /*
+     * 샤드가 바뀌는 카테고리 이름 변경: 원래 샤드에서 id 순으로 MOVE_CHUNK건씩 읽어 대상 샤드에 (to, 버전 + 1)로 기록하고,
+     * 옮긴 행만 현재 트랜잭션(원래 샤드)에서 삭제. 이동 중 원래 카테고리에 새로 추가된 행도 id 순서상 뒤에서 함께 옮겨짐.
+     * 대상 샤드 기록은 청크마다 즉시 커밋되며, 현재 트랜잭션이 롤백되면 ProductShards.copyTo가 복사본을 제거.
+     */
+    private int moveCategory(RenameCategoryRequest dto) {
+        int source = productShards.shardOf(dto.from());
+        int target = productShards.shardOf(dto.to());
+        productShards.bindShard(source);
+        int moved = 0;
+        long lastId = 0L;
+        while (true) {
+            long seek = lastId;
+            List<ProductResponse> rows = productShards.onShard(source, true,
+                    () -> productRepository.findNextByCategory(dto.from(), seek, Limit.of(MOVE_CHUNK)));
+            if (rows.isEmpty()) {
+                return moved;
+            }
+            productShards.copyTo(target, rows.stream()
+                    .map(row -> new ProductResponse(row.id(), dto.to(), row.name(), row.version() + 1))
+                    .toList());
+            List<Long> ids = rows.stream().map(ProductResponse::id).toList();
+            moved += productRepository.deleteAllByIdInBulk(ids);
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    @Transactional
+    public long deleteByCategory(DeleteCategoryRequest dto) {
+        if (dto.category() == null) {
+            throw new IllegalArgumentException("category must not be null");
+        }
+        productCache.invalidateAll();
+        productShards.bind(dto.category());
+        int affected = productRepository.deleteAllByCategoryInBulk(dto.category());
+        if (affected > 0) {
+            eventPublisher.publishEvent(ProductBulkChangedEvent.categoryDeleted(dto.category(), affected));
+        }
+        return affected;
+    }
+
+    @Transactional
+    public long deleteByIds(DeleteProductsRequest dto) {
+        if (dto.productIds() == null || dto.productIds().isEmpty()) {
+            throw new IllegalArgumentException("productIds must not be empty");
+        }
+        List<Long> ids = dto.productIds().stream().filter(Objects::nonNull).distinct().toList();
+        ids.forEach(productCache::invalidate);
+
+        // 레지스트리 반영용 카테고리별 삭제 건수 (삭제 후에는 조회할 수 없으므로 먼저 집계).
+        // 샤딩 모드에서는 id의 샤드를 알 수 없으므로 모든 샤드에서 집계/삭제 (샤드별로 커밋).
+        Map<String, Long> deltas = new HashMap<>();
+        for (CategoryCount row : productShards.gather(() -> productRepository.countGroupByCategoryByIds(ids))) {
+            if (row.getCategory() != null) {
+                deltas.merge(row.getCategory(), -row.getCount(), Long::sum);
+            }
+        }
+        int affected = productShards.scatter(false, () -> productRepository.deleteAllByIdInBulk(ids)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (affected > 0) {
+            eventPublisher.publishEvent(ProductBulkChangedEvent.idsDeleted(ids, deltas, affected));
+        }
+        return affected;
+    }
+
+    /*
+     * 상품명 검색 (메모리 색인, SQL 없음). category가 null이면 전체 카테고리 대상.
+     */
+    public ProductSearchResponse search(String query, String category, int page, int size) {
+        return productSearchIndex.search(query, category, page, size);
+    }
+
+    /*
+     * 목록/카테고리 조회용 카탈로그 ETag. 데이터를 읽기 전에 호출해야 함.
+     * representation은 같은 URL 안에서 응답을 구분하는 키 (요청 조건, 응답 형식 등).
+     */
+    public String getCatalogETag(String representation) {
+        return catalogVersion.eTag(representation);
+    }
+
+    public ProductCacheStats getCacheStats() {
+        return productCache.stats();
+    }
+
+    /*
+     * 카테고리별 상품 수 (메모리 카운터, SQL 없음).
+     */
+    public List<CategoryStatResponse> getCategoryStats() {
+        return categoryCounters.snapshot();
+    }
+
+    /*
+     * 재적재로 목록이 바뀌면 카탈로그 워터마크를 올려, 이전 ETag의 조건부 요청이 304로 이전 목록을 받지 않도록 함.
+     */
+    public void rebuildCategories() {
+        if (categoryRegistry.rebuild()) {
+            catalogVersion.advance();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.datasource.ShardRouting;
+import com.wjc.codetest.datasource.ShardedDataSources;
+import com.wjc.codetest.monitoring.RequestDbStatistics;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+ * 샤딩 모드(ShardedDataSourceConfig)의 상품 샤드 선택 / 여러 샤드 조회.
+ * - 상품은 category 해시로 샤드 하나에 저장. 카테고리 단위 조회/변경은 해당 샤드 하나만 사용.
+ * - 카테고리 목록/집계, id 조회처럼 샤드를 알 수 없는 조회는 모든 샤드에 병렬로 보내고 결과를 합침(scatter-gather).
+ *   샤드마다 별도 스레드(가상 스레드) + 별도 트랜잭션이므로 호출자의 트랜잭션과 섞이지 않음.
+ *
+ * 샤딩을 사용하지 않으면 샤드 1개(0번)로 동작하며 모든 메서드가 호출 스레드에서 그대로 실행 (기존 동작과 동일).
+ */
+@Slf4j
+@Component
+public class ProductShards {
+
+    private static final String INSERT_ROW = "INSERT INTO product (product_id, category, name, version) VALUES (:id, :category, :name, :version)";
+
+    private final int count;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+    private final ProductCache productCache;
+
+    public ProductShards(ObjectProvider<ShardedDataSources> shardedDataSources,
+                         PlatformTransactionManager transactionManager,
+                         DataSource dataSource,
+                         ProductCache productCache) {
+        ShardedDataSources shards = shardedDataSources.getIfAvailable();
+        this.count = shards == null ? 1 : shards.count();
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.executor = shards == null ? null : Executors.newVirtualThreadPerTaskExecutor();
+        this.productCache = productCache;
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /*
+     * String.hashCode는 JVM/재기동과 무관하게 같은 값이므로 배치가 바뀌지 않음. null 카테고리는 0번 샤드.
+     */
+    public int shardOf(String category) {
+        return Math.floorMod(Objects.hashCode(category), count);
+    }
+
+    /*
+     * 진행 중인 트랜잭션을 category의 샤드로 고정 (커밋까지). 트랜잭션의 첫 SQL 전에 호출해야 함.
+     */
+    public void bind(String category) {
+        bindShard(shardOf(category));
+    }
+
+    public void bindShard(int shard) {
+        if (isEnabled()) {
+            ShardRouting.bindToTransaction(shard);
+        }
+    }
+
+    /*
+     * 샤드마다 action을 호출 스레드에서 차례로 실행 (action 안에서 시작하는 트랜잭션이 해당 샤드 사용).
+     * 기동 시 전체 적재처럼 트랜잭션 밖에서 전체 행을 순회하는 경우에 사용.
+     */
+    public void forEachShard(Runnable action) {
+        if (!isEnabled()) {
+            action.run();
+            return;
+        }
+        for (int shard = 0; shard < count; shard++) {
+            ShardRouting.call(shard, () -> {
+                action.run();
+                return null;
+            });
+        }
+    }
+
+    /*
+     * rows를 샤드별로 나누어(샤드 내 순서 유지) 샤드마다 호출 스레드에서 action 실행. 트랜잭션 밖에서 호출.
+     * 한 샤드에서 예외가 나면 이후 샤드는 실행하지 않음 (샤드별 결과가 필요하면 partition + runOnShard).
+     */
+    public <T> void forEachShard(List<T> rows, Function<T, String> category, Consumer<List<T>> action) {
+        partition(rows, category).forEach((shard, group) -> runOnShard(shard, () -> action.accept(group)));
+    }
+
+    /*
+     * rows를 샤드 번호별로 나눔 (샤드 내 순서 유지). 샤딩을 사용하지 않으면 0번 샤드 하나에 전체.
+     */
+    public <T> Map<Integer, List<T>> partition(List<T> rows, Function<T, String> category) {
+        if (!isEnabled()) {
+            return Map.of(0, rows);
+        }
+        Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (T row : rows) {
+            groups.computeIfAbsent(shardOf(category.apply(row)), shard -> new ArrayList<>()).add(row);
+        }
+        return groups;
+    }
+
+    /*
+     * 호출 스레드에서 action 동안 shard 사용 (action 안에서 시작하는 트랜잭션이 해당 샤드 사용). 트랜잭션 밖에서 호출.
+     */
+    public void runOnShard(int shard, Runnable action) {
+        if (!isEnabled()) {
+            action.run();
+            return;
+        }
+        ShardRouting.call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /*
+     * 모든 샤드에 병렬로 query를 실행하고 샤드 순서대로 결과 반환.
+     * 샤딩 모드에서는 샤드마다 새 트랜잭션(readOnly 여부 지정)이므로 쓰기는 샤드 단위로 커밋됨 (샤드 간 원자성 없음).
+     */
+    public <T> List<T> scatter(boolean readOnly, Supplier<T> query) {
+        if (!isEnabled()) {
+            return List.of(query.get());
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            futures.add(submit(shard, readOnly, query));
+        }
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /*
+     * 목록 결과를 반환하는 조회를 모든 샤드에 보내고 이어 붙임.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query) {
+        List<T> merged = new ArrayList<>();
+        scatter(true, query).forEach(merged::addAll);
+        return merged;
+    }
+
+    /*
+     * 특정 샤드에서 별도 트랜잭션으로 실행 (호출자의 트랜잭션이 다른 샤드에 고정되어 있어도 사용 가능).
+     */
+    public <T> T onShard(int shard, boolean readOnly, Supplier<T> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        return await(submit(shard, readOnly, query));
+    }
+
+    /*
+     * 다른 샤드로 행을 복사 (id/버전 지정). 카테고리 변경으로 샤드가 바뀌는 경우 사용하며 즉시 커밋됨.
+     * 호출자의 트랜잭션이 롤백되면 복사한 행을 다시 삭제하여 두 샤드에 같은 id가 남지 않도록 함.
+     * 복사 후 커밋 전까지는 id 조회가 복사본(더 높은 버전)을 읽어 캐시에 넣을 수 있으므로, 롤백 시 복사본 삭제 후 캐시도 무효화.
+     */
+    public void copyTo(int shard, List<ProductResponse> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        onShard(shard, false, () -> jdbcTemplate.batchUpdate(INSERT_ROW, rows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("id", row.id())
+                        .addValue("category", row.category())
+                        .addValue("name", row.name())
+                        .addValue("version", row.version()))
+                .toArray(MapSqlParameterSource[]::new)));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = rows.stream().map(ProductResponse::id).toList();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        log.warn("product shard move rolled back, removing copied rows :: shard={}, rows={}", shard, ids.size());
+                        try {
+                            onShard(shard, false, () -> jdbcTemplate.update("DELETE FROM product WHERE product_id IN (:ids)",
+                                    new MapSqlParameterSource("ids", ids)));
+                        } finally {
+                            // 삭제 후 무효화해야 무효화 직후의 조회가 복사본을 다시 적재하지 않음.
+                            ids.forEach(productCache::invalidate);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> Future<T> submit(int shard, boolean readOnly, Supplier<T> query) {
+        TransactionTemplate transaction = readOnly ? readTransaction : writeTransaction;
+        // 요청 스레드의 SQL 통계(RequestDbStatistics)에 샤드 작업의 SQL도 기록되도록 연결.
+        return executor.submit(RequestDbStatistics.propagate(
+                () -> ShardRouting.call(shard, () -> transaction.execute(status -> query.get()))));
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for shard query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
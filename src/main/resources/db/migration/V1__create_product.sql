@@ -0,0 +1,9 @@
+-- Product 기본 스키마 (기존 ddl-auto=update가 생성하던 구조와 동일)
+CREATE SEQUENCE IF NOT EXISTS product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS product (
+    product_id BIGINT       NOT NULL,
+    category   VARCHAR(255),
+    name       VARCHAR(255),
+    CONSTRAINT pk_product PRIMARY KEY (product_id)
+);
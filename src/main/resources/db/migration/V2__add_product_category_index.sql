@@ -0,0 +1,4 @@
+-- 카테고리 목록 조회(offset/keyset), 카테고리별 count, 카테고리 집계(GROUP BY category)용 복합 인덱스.
+-- category가 선두 컬럼이라 카테고리 집계는 테이블 대신 인덱스만 읽음(covering).
+-- product_id가 두 번째 컬럼이라 category 동등 조건 + product_id 정렬/seek 조건을 정렬 없이 처리.
+CREATE INDEX idx_product_category_id ON product (category, product_id);
@@ -0,0 +1,2 @@
+-- 낙관적 락 / ETag용 버전 컬럼. 기존 행은 0부터 시작.
+ALTER TABLE product ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
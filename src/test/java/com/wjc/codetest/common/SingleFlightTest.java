@@ -0,0 +1,91 @@
+package com.wjc.codetest.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 1000;
+
+    /*
+     * 1,000개의 동시 호출 중 첫 호출의 조회(= DB 쿼리)는 나머지 999개가 모두 합류할 때까지 끝나지 않도록 붙잡아 둠.
+     * 병합이 동작하면 실제 조회 수는 1.
+     */
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger queries = new AtomicInteger();
+
+        List<String> results = runConcurrently(flight, () -> {
+            awaitCoalesced(flight, CALLERS - 1);
+            queries.incrementAndGet();
+            return "page-0";
+        });
+
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(flight.executedCount()).isEqualTo(1);
+        assertThat(flight.coalescedCount()).isEqualTo(CALLERS - 1);
+        assertThat(results).hasSize(CALLERS).containsOnly("page-0");
+    }
+
+    @Test
+    void failureIsPropagatedToEveryWaiter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+        List<String> results = runConcurrently(flight, () -> {
+            awaitCoalesced(flight, CALLERS - 1);
+            throw new IllegalStateException("db down");
+        });
+
+        assertThat(results).hasSize(CALLERS).containsOnly("error:db down");
+        // 실패 후에는 키가 비워져 다음 호출이 새로 실행됨.
+        assertThat(flight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static List<String> runConcurrently(SingleFlight<String, String> flight, Supplier<String> loader) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return flight.execute("key", loader);
+                } catch (IllegalStateException e) {
+                    return "error:" + e.getMessage();
+                }
+            }));
+        }
+        start.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> flight, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (flight.coalescedCount() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("only " + flight.coalescedCount() + " callers coalesced");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
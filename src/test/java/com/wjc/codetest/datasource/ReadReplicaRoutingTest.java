@@ -0,0 +1,53 @@
+package com.wjc.codetest.datasource;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "product.datasource.replica.lag=PT1S")
+@ActiveProfiles("replica")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void unpin() {
+        PrimaryPinning.clear();
+    }
+
+    /*
+     * 레플리카는 1초 늦게 반영되도록 설정.
+     * 커밋 직후 readOnly 조회는 레플리카로 가므로 아직 보이지 않고, primary 고정 시에는 바로 보여야 함.
+     */
+    @Test
+    void readOnlyQueriesGoToLaggingReplicaUnlessPinned() throws Exception {
+        Long productId = productService.create(new CreateProductRequest("replica-test", "item")).getId();
+
+        assertThat(productRepository.findResponseById(productId)).isEmpty();
+
+        PrimaryPinning.pin();
+        assertThat(productRepository.findResponseById(productId)).isPresent();
+        assertThat(productService.getProductById(productId).name()).isEqualTo("item");
+        PrimaryPinning.clear();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (productRepository.findResponseById(productId).isEmpty()) {
+            assertThat(System.nanoTime()).as("replica caught up in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        assertThat(productService.getProductById(productId).name()).isEqualTo("item");
+    }
+}
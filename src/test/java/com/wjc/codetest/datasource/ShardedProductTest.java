@@ -0,0 +1,183 @@
+package com.wjc.codetest.datasource;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.RenameCategoryRequest;
+import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.ProductImportReport;
+import com.wjc.codetest.product.service.ProductImportService;
+import com.wjc.codetest.product.service.ProductService;
+import com.wjc.codetest.product.service.ProductShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+class ShardedProductTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductShards productShards;
+
+    @Autowired
+    private ShardedDataSources shardedDataSources;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Test
+    void productsAreStoredOnTheirCategoryShardAndReadAcrossShards() {
+        List<String> categories = categoriesOnDistinctShards("shard-test");
+        List<Long> ids = new ArrayList<>();
+        for (String category : categories) {
+            ids.add(productService.create(new CreateProductRequest(category, "item-" + category)).getId());
+        }
+
+        // 샤드마다 id 구간이 달라 전역 유일.
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        for (int i = 0; i < categories.size(); i++) {
+            String category = categories.get(i);
+            assertThat(shardsContaining(ids.get(i))).containsExactly(productShards.shardOf(category));
+            assertThat(productService.getProductById(ids.get(i)).category()).isEqualTo(category);
+        }
+        assertThat(productService.getUniqueCategories()).containsAll(categories);
+    }
+
+    @Test
+    void updateToCategoryOnAnotherShardMovesTheRow() {
+        List<String> categories = categoriesOnDistinctShards("shard-move");
+        String from = categories.get(0);
+        String to = categories.get(1);
+        Product created = productService.create(new CreateProductRequest(from, "item"));
+
+        Product updated = productService.update(new UpdateProductRequest(created.getId(), to, "moved"));
+
+        assertThat(updated.getId()).isEqualTo(created.getId());
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(shardsContaining(created.getId())).containsExactly(productShards.shardOf(to));
+        assertThat(productService.getProductById(created.getId()).name()).isEqualTo("moved");
+    }
+
+    /*
+     * 이동 중(대상 샤드 복사본 커밋 후, 원래 트랜잭션 커밋 전)에 조회하면 복사본이 캐시에 들어갈 수 있음.
+     * 원래 트랜잭션이 롤백되면 복사본과 함께 캐시 값도 제거되어 이후 조회는 이동 전 상품을 반환해야 함.
+     */
+    @Test
+    void rolledBackMoveDoesNotLeaveCopyInCache() {
+        List<String> categories = categoriesOnDistinctShards("shard-rollback");
+        String from = categories.get(0);
+        String to = categories.get(1);
+        Product created = productService.create(new CreateProductRequest(from, "before"));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            productService.update(new UpdateProductRequest(created.getId(), to, "rolled-back"));
+            assertThat(productService.getProductById(created.getId()).name()).isEqualTo("rolled-back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(shardsContaining(created.getId())).containsExactly(productShards.shardOf(from));
+        assertThat(productService.getProductById(created.getId()).name()).isEqualTo("before");
+    }
+
+    @Test
+    void renameToCategoryOnAnotherShardMovesAllRows() {
+        List<String> categories = categoriesOnDistinctShards("shard-rename");
+        String from = categories.get(0);
+        String to = categories.get(1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(productService.create(new CreateProductRequest(from, "item-" + i)).getId());
+        }
+
+        assertThat(productService.renameCategory(new RenameCategoryRequest(from, to))).isEqualTo(3);
+
+        for (Long id : ids) {
+            assertThat(shardsContaining(id)).containsExactly(productShards.shardOf(to));
+        }
+        assertThat(productService.getUniqueCategories()).contains(to).doesNotContain(from);
+    }
+
+    /*
+     * 한 청크가 샤드별 그룹으로 나뉘어 커밋되므로, 한 그룹(너무 긴 name)이 실패해도 다른 그룹은 커밋되고
+     * 보고서에 커밋된 행 수와 실패한 행 위치가 그룹별로 나타나야 함.
+     */
+    @Test
+    void importReportsCommittedRowsPerShardGroup() throws Exception {
+        List<String> categories = categoriesOnDistinctShards("shard-import");
+        String ok = categories.get(0);
+        String broken = categories.get(1);
+        String ndjson = row(ok, "a") + row(broken, "b") + row(ok, "c") + row(broken, "x".repeat(300));
+
+        ProductImportReport report = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 10);
+
+        assertThat(report.importedRows()).isEqualTo(2);
+        assertThat(report.failedRows()).isEqualTo(2);
+        ProductImportReport.Chunk chunk = report.chunks().get(0);
+        assertThat(chunk.committed()).isFalse();
+        assertThat(chunk.committedRows()).isEqualTo(2);
+        assertThat(chunk.shards()).hasSize(2);
+        ProductImportReport.ShardGroup failed = chunk.shards().stream().filter(group -> !group.committed()).findFirst().orElseThrow();
+        assertThat(failed.shard()).isEqualTo(productShards.shardOf(broken));
+        assertThat(failed.failedOffsets()).containsExactly(1, 3);
+        assertThat(countOnShard(ok)).isEqualTo(2);
+        assertThat(countOnShard(broken)).isZero();
+    }
+
+    /*
+     * prefix로 시작하는 카테고리 중 서로 다른 샤드에 배치되는 것을 샤드 수만큼 고름.
+     */
+    private List<String> categoriesOnDistinctShards(String prefix) {
+        List<String> categories = new ArrayList<>();
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; categories.size() < productShards.count(); i++) {
+            String category = prefix + "-" + i;
+            if (used.add(productShards.shardOf(category))) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
+
+    private int countOnShard(String category) {
+        Integer rows = new JdbcTemplate(shardedDataSources.get(productShards.shardOf(category)))
+                .queryForObject("SELECT COUNT(*) FROM product WHERE category = ?", Integer.class, category);
+        return rows == null ? 0 : rows;
+    }
+
+    private static String row(String category, String name) {
+        return "{\"category\":\"" + category + "\",\"name\":\"" + name + "\"}\n";
+    }
+
+    private List<Integer> shardsContaining(Long productId) {
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardedDataSources.count(); shard++) {
+            Integer rows = new JdbcTemplate(shardedDataSources.get(shard))
+                    .queryForObject("SELECT COUNT(*) FROM product WHERE product_id = ?", Integer.class, productId);
+            if (rows != null && rows > 0) {
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,74 @@
+package com.wjc.codetest.monitoring;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.service.ProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestDbStatisticsFilterTest {
+
+    private static final String ENDPOINT = "/get/product/by/{productId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /*
+     * 캐시에 없는 상품 조회 = SELECT 1건, 1행. 같은 상품을 다시 조회하면 캐시 적중으로 SQL 없음.
+     * 다른 테스트도 같은 엔드포인트를 호출할 수 있으므로 요청 전후의 누적 값 차이로 비교.
+     */
+    @Test
+    void recordsStatementsRowsAndDbTimePerRequest() throws Exception {
+        Long productId = productService.create(new CreateProductRequest("stats-" + UUID.randomUUID(), "item")).getId();
+        Snapshot before = snapshot();
+
+        mockMvc.perform(get(ENDPOINT, productId)).andExpect(status().isOk());
+        Snapshot cold = snapshot();
+
+        assertThat(cold.requests - before.requests).isEqualTo(1);
+        assertThat(cold.statements - before.statements).isEqualTo(1);
+        assertThat(cold.rows - before.rows).isEqualTo(1);
+        assertThat(cold.dbNanos - before.dbNanos).isPositive();
+
+        mockMvc.perform(get(ENDPOINT, productId)).andExpect(status().isOk());
+        Snapshot cached = snapshot();
+
+        assertThat(cached.requests - cold.requests).isEqualTo(1);
+        assertThat(cached.statements - cold.statements).isZero();
+        assertThat(cached.rows - cold.rows).isZero();
+    }
+
+    private Snapshot snapshot() {
+        DistributionSummary statements = meterRegistry.find("product.request.db.statements").tags("endpoint", ENDPOINT).summary();
+        DistributionSummary rows = meterRegistry.find("product.request.db.rows").tags("endpoint", ENDPOINT).summary();
+        Timer dbTime = meterRegistry.find("product.request.db.time").tags("endpoint", ENDPOINT).timer();
+        if (statements == null || rows == null || dbTime == null) {
+            return new Snapshot(0, 0, 0, 0);
+        }
+        return new Snapshot(statements.count(), (long) statements.totalAmount(), (long) rows.totalAmount(),
+                (long) dbTime.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    private record Snapshot(long requests, long statements, long rows, long dbNanos) {
+    }
+}
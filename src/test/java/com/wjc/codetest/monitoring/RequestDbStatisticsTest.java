@@ -0,0 +1,51 @@
+package com.wjc.codetest.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDbStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDbStatistics.end();
+    }
+
+    /*
+     * 요청 스레드가 아닌 작업 스레드의 SQL도 propagate로 연결하면 같은 요청 통계에 합산되고,
+     * 작업이 끝나면 작업 스레드의 ThreadLocal은 원래 상태로 복원되어야 함.
+     */
+    @Test
+    void propagatedTaskRecordsIntoRequestStatistics() throws Exception {
+        RequestDbStatistics statistics = RequestDbStatistics.begin();
+        statistics.recordStatement(5);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Callable<RequestDbStatistics> task = RequestDbStatistics.propagate(() -> {
+                RequestDbStatistics current = RequestDbStatistics.current();
+                current.recordStatement(10);
+                current.recordRow();
+                return current;
+            });
+            assertThat(executor.submit(task).get()).isSameAs(statistics);
+            assertThat(executor.submit(task).get()).isSameAs(statistics);
+            assertThat(executor.submit(RequestDbStatistics::current).get()).isNull();
+        }
+
+        assertThat(statistics.statements()).isEqualTo(3);
+        assertThat(statistics.rows()).isEqualTo(2);
+        assertThat(statistics.dbNanos()).isEqualTo(25);
+    }
+
+    @Test
+    void taskOutsideRequestIsNotWrapped() {
+        Callable<Object> task = () -> null;
+
+        assertThat(RequestDbStatistics.propagate(task)).isSameAs(task);
+    }
+}
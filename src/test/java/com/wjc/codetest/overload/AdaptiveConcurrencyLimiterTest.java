@@ -0,0 +1,91 @@
+package com.wjc.codetest.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    @Test
+    void rejectsBeyondLimitUntilReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(System.nanoTime(), false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void fastResponsesUnderHighUtilizationRaiseLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 6, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            fillAndReleaseFast(limiter);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void fastResponsesUnderLowUtilizationKeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(System.nanoTime(), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    /*
+     * 같은 혼잡 구간(마지막 감소 이전에 시작)의 느린 요청들은 한도를 한 번만 줄임.
+     */
+    @Test
+    void slowResponsesFromSameWindowDecreaseOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 32, THRESHOLD, 0.5);
+        long startedLongAgo = System.nanoTime() - THRESHOLD.toNanos() * 2;
+
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 8; i++) {
+            limiter.release(startedLongAgo, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void failuresDecreaseLimitDownToMin() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 3, 32, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            // 직전 감소 이후에 시작된 요청의 실패.
+            Thread.sleep(1);
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(System.nanoTime(), true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    private static void fillAndReleaseFast(AdaptiveConcurrencyLimiter limiter) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(started, false);
+        }
+    }
+}
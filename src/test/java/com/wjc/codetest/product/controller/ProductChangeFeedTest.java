@@ -0,0 +1,192 @@
+package com.wjc.codetest.product.controller;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * SSE 스트림은 끝나지 않으므로 비동기 응답 본문에 이벤트가 쌓일 때까지 기다려 확인하고,
+ * 확인 후에는 AsyncContext를 완료하여 구독(전송 스레드)을 닫음.
+ */
+@SpringBootTest(properties = {
+        "product.feed.heartbeat=PT1S",
+        "product.feed.max-subscribers=3"
+})
+@AutoConfigureMockMvc
+class ProductChangeFeedTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /*
+     * 구독 이후 커밋된 변경만 전송되고, category 구독은 다른 카테고리의 변경을 받지 않음.
+     */
+    @Test
+    void subscriberReceivesCommittedChangesForItsCategory() throws Exception {
+        String category = "feed-" + UUID.randomUUID();
+        String other = "feed-other-" + UUID.randomUUID();
+        Product before = productService.create(new CreateProductRequest(category, "before"));
+
+        MvcResult stream = subscribe(get("/product/changes").param("category", category));
+        try {
+            Product skipped = productService.create(new CreateProductRequest(other, "skipped"));
+            Product created = productService.create(new CreateProductRequest(category, "created"));
+
+            String body = awaitBody(stream, content -> content.contains(productIdField(created)));
+            assertThat(body).contains("event:CREATED", "\"name\":\"created\"", "\"category\":\"" + category + "\"");
+            assertThat(eventId(body, created)).isNotNull();
+            assertThat(body).doesNotContain(productIdField(before), productIdField(skipped));
+        } finally {
+            close(stream);
+        }
+    }
+
+    /*
+     * 연결이 끊긴 동안 커밋된 변경은 Last-Event-ID로 재연결하면 이어서 전송 (이미 받은 이벤트는 다시 보내지 않음).
+     */
+    @Test
+    void reconnectWithLastEventIdResumesAfterThatEvent() throws Exception {
+        String category = "feed-" + UUID.randomUUID();
+        MvcResult first = subscribe(get("/product/changes").param("category", category));
+        String lastEventId;
+        Product seen;
+        try {
+            seen = productService.create(new CreateProductRequest(category, "seen"));
+            lastEventId = eventId(awaitBody(first, content -> content.contains(productIdField(seen))), seen);
+        } finally {
+            close(first);
+        }
+        assertThat(lastEventId).isNotNull();
+
+        Product missed1 = productService.create(new CreateProductRequest(category, "missed-1"));
+        Product missed2 = productService.create(new CreateProductRequest(category, "missed-2"));
+
+        MvcResult resumed = subscribe(get("/product/changes").param("category", category)
+                .header("Last-Event-ID", lastEventId));
+        try {
+            String body = awaitBody(resumed, content -> content.contains(productIdField(missed2)));
+            assertThat(body).contains(productIdField(missed1));
+            assertThat(body.indexOf(productIdField(missed1))).isLessThan(body.indexOf(productIdField(missed2)));
+            assertThat(body).doesNotContain(productIdField(seen), "event:reset");
+        } finally {
+            close(resumed);
+        }
+    }
+
+    /*
+     * 다른 기동 시점(epoch)의 id로는 이어 받을 위치를 알 수 없으므로 즉시 reset 이벤트.
+     */
+    @Test
+    void lastEventIdFromAnotherEpochIsReset() throws Exception {
+        MvcResult stream = subscribe(get("/product/changes").header("Last-Event-ID", "not-this-epoch-42"));
+        try {
+            String body = awaitBody(stream, content -> content.contains("event:reset"));
+            assertThat(body).contains("\"sequence\":");
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void subscriberCapRejectsWithServiceUnavailable() throws Exception {
+        awaitSubscribers(0);
+        List<MvcResult> streams = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                streams.add(subscribe(get("/product/changes")));
+            }
+            mockMvc.perform(get("/product/changes"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            for (MvcResult stream : streams) {
+                close(stream);
+            }
+        }
+        awaitSubscribers(0);
+    }
+
+    private MvcResult subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // 완료 콜백 -> 구독자 close -> 전송 스레드 종료.
+    private static void close(MvcResult stream) {
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    private static String awaitBody(MvcResult stream, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (true) {
+            String body = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+            if (condition.test(body)) {
+                return body;
+            }
+            if (System.nanoTime() > deadline) {
+                fail("expected event not received:\n" + body);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (meterRegistry.get("product.feed.subscribers").gauge().value() != expected) {
+            if (System.nanoTime() > deadline) {
+                fail("subscribers did not close: " + meterRegistry.get("product.feed.subscribers").gauge().value());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /*
+     * SSE 본문에서 해당 상품 이벤트 블록의 id 행 값.
+     */
+    private static String eventId(String body, Product product) {
+        return Arrays.stream(body.split("\n\n"))
+                .filter(block -> block.contains(productIdField(product)))
+                .flatMap(block -> Arrays.stream(block.split("\n")))
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String productIdField(Product product) {
+        return "\"productId\":" + product.getId() + ",";
+    }
+}
@@ -0,0 +1,195 @@
+package com.wjc.codetest.product.controller;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.service.CategoryReconciliationJob;
+import com.wjc.codetest.product.service.ProductCache;
+import com.wjc.codetest.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryReconciliationJob reconciliationJob;
+
+    // 수정 트랜잭션이 상품을 읽은 뒤(커밋 전 캐시 무효화 시점)에 다른 트랜잭션의 수정을 끼워 넣기 위해 사용.
+    @MockitoSpyBean
+    private ProductCache productCache;
+
+    @Test
+    void getByIdWithCurrentETagIsNotModified() throws Exception {
+        Product product = productService.create(new CreateProductRequest("etag-" + UUID.randomUUID(), "item"));
+        String eTag = ProductResponse.from(product).eTag();
+
+        mockMvc.perform(get("/get/product/by/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/get/product/by/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateWithStaleIfMatchFailsPrecondition() throws Exception {
+        String category = "etag-" + UUID.randomUUID();
+        Product product = productService.create(new CreateProductRequest(category, "v0"));
+        String stale = ProductResponse.from(product).eTag();
+        mockMvc.perform(update(product.getId(), category, "v1").header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(update(product.getId(), category, "v2").header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        // If-Match는 강한 비교만 허용 -> 현재 버전이라도 약한 ETag는 불일치.
+        String current = "\"" + product.getId() + "-" + (product.getVersion() + 1) + "\"";
+        mockMvc.perform(update(product.getId(), category, "v2").header(HttpHeaders.IF_MATCH, "W/" + current))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(update(product.getId(), category, "v2").header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk());
+        assertThat(productService.getProductById(product.getId()).name()).isEqualTo("v2");
+    }
+
+    /*
+     * 수정 요청이 상품을 읽은 뒤, flush 전에 다른 트랜잭션이 같은 상품을 수정하고 커밋 -> flush 시 버전 검사 실패 -> 409.
+     */
+    @Test
+    void concurrentModificationBeforeFlushConflicts() throws Exception {
+        String category = "etag-" + UUID.randomUUID();
+        Product product = productService.create(new CreateProductRequest(category, "v0"));
+        AtomicBoolean armed = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (product.getId().equals(invocation.getArgument(0)) && armed.compareAndSet(true, false)) {
+                // 요청 스레드의 트랜잭션과 무관한 별도 스레드/커넥션에서 커밋.
+                CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                        "UPDATE product SET name = ?, version = version + 1 WHERE product_id = ?", "concurrent", product.getId())).join();
+            }
+            return invocation.callRealMethod();
+        }).when(productCache).invalidate(any());
+
+        mockMvc.perform(update(product.getId(), category, "mine"))
+                .andExpect(status().isConflict());
+        assertThat(productService.getProductById(product.getId()).name()).isEqualTo("concurrent");
+    }
+
+    /*
+     * 목록 요청은 모두 같은 URL이므로, 다른 카테고리/페이지의 ETag로 보낸 조건부 요청은 304가 아니어야 함.
+     */
+    @Test
+    void listETagDependsOnRequestBody() throws Exception {
+        String categoryA = "etag-a-" + UUID.randomUUID();
+        String categoryB = "etag-b-" + UUID.randomUUID();
+        productService.create(new CreateProductRequest(categoryA, "a"));
+        productService.create(new CreateProductRequest(categoryB, "b"));
+
+        String pageA = listBody(categoryA, 0);
+        String eTagA = listETag(pageA);
+
+        assertThat(listETag(listBody(categoryB, 0))).isNotEqualTo(eTagA);
+        assertThat(listETag(listBody(categoryA, 1))).isNotEqualTo(eTagA);
+
+        mockMvc.perform(post("/product/list").contentType(MediaType.APPLICATION_JSON).content(listBody(categoryB, 0))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTagA))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/product/list").contentType(MediaType.APPLICATION_JSON).content(pageA)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTagA))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTagA));
+    }
+
+    /*
+     * 카테고리 통계/목록 ETag는 카탈로그 워터마크 기반. 이벤트 없는 외부 변경은 워터마크를 올리지 않으므로
+     * 보정(reconcile)/재적재(rebuild)가 값을 바꿀 때 워터마크를 올리지 않으면 이전 ETag로 계속 304가 됨.
+     */
+    @Test
+    void categoryStatsETagChangesWhenReconcileCorrectsDrift() throws Exception {
+        String category = "etag-stats-" + UUID.randomUUID();
+        productService.create(new CreateProductRequest(category, "item"));
+        String eTag = getETag("/product/category/stats");
+        insertWithoutEvents(category);
+
+        // 외부 변경만으로는 워터마크가 그대로.
+        mockMvc.perform(get("/product/category/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        reconciliationJob.reconcile();
+
+        mockMvc.perform(get("/product/category/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("{\"category\":\"" + category + "\",\"count\":2}")));
+    }
+
+    @Test
+    void categoryListETagChangesWhenRebuildChangesCategories() throws Exception {
+        String category = "etag-categories-" + UUID.randomUUID();
+        String eTag = getETag("/product/category/list");
+        insertWithoutEvents(category);
+
+        mockMvc.perform(post("/product/category/rebuild"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/product/category/list").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(category)));
+    }
+
+    private String getETag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // 이벤트 없는 외부 변경. 시퀀스 할당 구간과 겹치지 않도록 음수 id 사용.
+    private void insertWithoutEvents(String category) {
+        jdbcTemplate.update("INSERT INTO product (product_id, category, name) VALUES (?, ?, ?)",
+                -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), category, "external");
+    }
+
+    private String listETag(String body) throws Exception {
+        return mockMvc.perform(post("/product/list").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static MockHttpServletRequestBuilder update(Long id, String category, String name) {
+        return post("/update/product").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + id + ",\"category\":\"" + category + "\",\"name\":\"" + name + "\"}");
+    }
+
+    private static String listBody(String category, int page) {
+        return "{\"category\":\"" + category + "\",\"page\":" + page + ",\"size\":10}";
+    }
+}
@@ -0,0 +1,100 @@
+package com.wjc.codetest.product.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductListContentNegotiationTest {
+
+    private static final String CATEGORY = "negotiation-test";
+    private static final String BODY = "{\"category\":\"" + CATEGORY + "\",\"page\":0,\"size\":10}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        if (productService.getUniqueCategories().contains(CATEGORY)) {
+            return;
+        }
+        for (int i = 0; i < 3; i++) {
+            productService.create(new CreateProductRequest(CATEGORY, "item-" + i));
+        }
+    }
+
+    /*
+     * 같은 요청을 JSON / CBOR / Smile로 받아 디코딩한 내용이 같은지 확인. Accept가 없으면 JSON.
+     */
+    @Test
+    void listIsNegotiatedIntoBinaryFormats() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(request(null, MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+        MvcResult cbor = request(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR);
+        MvcResult smile = request(MediaType.parseMediaType("application/x-jackson-smile"), MediaType.parseMediaType("application/x-jackson-smile"));
+
+        JsonNode cborTree = new ObjectMapper(new CBORFactory()).readTree(cbor.getResponse().getContentAsByteArray());
+        JsonNode smileTree = new ObjectMapper(new SmileFactory()).readTree(smile.getResponse().getContentAsByteArray());
+
+        assertThat(json.get("products")).hasSize(3);
+        assertThat(cborTree).isEqualTo(json);
+        assertThat(smileTree).isEqualTo(json);
+        assertThat(cbor.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.toString().getBytes().length);
+    }
+
+    /*
+     * 형식마다 본문이 다르므로 ETag도 달라야 하고, 캐시가 형식별로 저장하도록 Vary: Accept.
+     * JSON으로 받은 ETag로 CBOR를 조건부 요청하면 304가 아니라 CBOR 본문을 받아야 함.
+     */
+    @Test
+    void eTagIsSpecificToNegotiatedFormat() throws Exception {
+        MvcResult json = request(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        MvcResult cbor = request(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR);
+        String jsonETag = json.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(cbor.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(jsonETag);
+        assertThat(json.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        mockMvc.perform(post("/product/list").contentType(MediaType.APPLICATION_JSON).content(BODY)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(post("/product/list").contentType(MediaType.APPLICATION_JSON).content(BODY)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+    }
+
+    private MvcResult request(MediaType accept, MediaType expected) throws Exception {
+        var builder = post("/product/list").contentType(MediaType.APPLICATION_JSON).content(BODY);
+        if (accept != null) {
+            builder.accept(accept);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(expected))
+                .andReturn();
+    }
+}
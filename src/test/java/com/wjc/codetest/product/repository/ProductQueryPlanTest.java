@@ -0,0 +1,163 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.request.PagingType;
+import com.wjc.codetest.product.service.ProductService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * ProductRepository 주요 쿼리가 인덱스를 타는지 H2 EXPLAIN으로 확인.
+ * SQL을 손으로 옮겨 적으면 리포지토리/정렬 조건이 바뀌어도 테스트가 이전 SQL을 검사하므로,
+ * 실제 호출 경로(ProductService, ProductRepository)를 실행하여 Hibernate가 생성한 SQL을 StatementInspector로 수집해 EXPLAIN.
+ * 바인딩 파라미터는 EXPLAIN 전에 리터럴로 치환 (category 조건은 문자열, 그 외는 숫자).
+ * H2는 인덱스를 쓰지 못하면 실행 계획에 tableScan을 표시함.
+ */
+@SpringBootTest
+class ProductQueryPlanTest {
+
+    private static final String CATEGORY_INDEX = "IDX_PRODUCT_CATEGORY_ID";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    /*
+     * offset 페이징(findResponsesByCategory) 본문 + count 쿼리.
+     * 빈 카테고리의 offset > 0 페이지를 요청하면 Spring Data가 count 쿼리까지 실행.
+     */
+    @Test
+    void offsetPageAndCountUseCategoryIndex() {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory("plan-" + UUID.randomUUID());
+        dto.setPage(50);
+        dto.setSize(20);
+
+        List<String> sql = capture(() -> productService.getListByCategory(dto));
+
+        assertThat(sql).hasSize(2);
+        assertThat(sql).anyMatch(statement -> statement.contains("offset") || statement.contains("fetch"));
+        assertThat(sql).anyMatch(statement -> statement.contains("count("));
+        sql.forEach(this::assertUsesCategoryIndex);
+    }
+
+    @Test
+    void keysetPageUsesCategoryIndex() {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory("plan-" + UUID.randomUUID());
+        dto.setSize(20);
+        dto.setPaging(PagingType.CURSOR);
+
+        List<String> sql = capture(() -> productService.getCursorListByCategory(dto));
+
+        assertThat(sql).hasSize(1);
+        assertThat(sql.get(0)).contains("product_id>?");
+        assertUsesCategoryIndex(sql.get(0));
+    }
+
+    /*
+     * export(streamAllByCategory)와 카테고리 레지스트리 적재(countGroupByCategory).
+     */
+    @Test
+    void exportAndCategoryAggregateUseCategoryIndex() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<String> export = capture(() -> readOnly.executeWithoutResult(status -> {
+            try (Stream<?> products = productRepository.streamAllByCategory("plan-" + UUID.randomUUID())) {
+                products.forEach(product -> { });
+            }
+        }));
+        List<String> aggregate = capture(productRepository::countGroupByCategory);
+
+        assertThat(export).hasSize(1);
+        assertThat(aggregate).hasSize(1);
+        assertUsesCategoryIndex(export.get(0));
+        assertUsesCategoryIndex(aggregate.get(0));
+    }
+
+    private List<String> capture(Runnable call) {
+        statementCapture.statements.clear();
+        call.run();
+        return statementCapture.statements.stream()
+                .map(statement -> statement.toLowerCase(Locale.ROOT))
+                .filter(statement -> statement.contains(" from product "))
+                .toList();
+    }
+
+    private void assertUsesCategoryIndex(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + bindLiterals(sql), String.class);
+
+        assertThat(plan)
+                .as(sql + "\n" + plan)
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase(CATEGORY_INDEX);
+    }
+
+    private static String bindLiterals(String sql) {
+        StringBuilder bound = new StringBuilder(sql.length());
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                bound.append(c);
+            } else if (bound.toString().endsWith("category=")) {
+                bound.append("'c'");
+            } else {
+                bound.append(20);
+            }
+        }
+        return bound.toString();
+    }
+
+    static class StatementCapture implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+}
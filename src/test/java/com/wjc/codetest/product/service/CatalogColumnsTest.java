@@ -0,0 +1,126 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogColumnsTest {
+
+    @Test
+    void pagesAreOrderedByIdWithinCategory() {
+        CatalogColumns columns = new CatalogColumns();
+        for (long id : new long[]{5, 1, 9, 3, 7}) {
+            columns.put(id, "a", "name-" + id, 0);
+        }
+        columns.put(2, "b", "other", 0);
+        columns.put(4, null, "no-category", 0);
+
+        Page<ProductResponse> first = columns.page("a", PageRequest.of(0, 2));
+        Page<ProductResponse> last = columns.page("a", PageRequest.of(2, 2));
+
+        assertThat(ids(first)).containsExactly(1L, 3L);
+        assertThat(ids(last)).containsExactly(9L);
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(first.getTotalPages()).isEqualTo(3);
+        assertThat(first.getContent().get(0).name()).isEqualTo("name-1");
+        assertThat(columns.page("missing", PageRequest.of(0, 2)).getTotalElements()).isZero();
+        assertThat(columns.size()).isEqualTo(6);
+    }
+
+    @Test
+    void updatesMovesAndDeletesArePatchedInPlace() {
+        CatalogColumns columns = new CatalogColumns();
+        columns.put(1, "a", "첫번째", 0);
+        columns.put(2, "a", null, 0);
+        columns.put(3, "a", "third", 0);
+
+        columns.put(1, "a", "renamed", 1);
+        columns.remove(3, "a");
+        columns.put(3, "b", "third", 1);
+
+        List<ProductResponse> a = columns.page("a", PageRequest.of(0, 10)).getContent();
+        assertThat(a).containsExactly(
+                new ProductResponse(1L, "a", "renamed", 1L),
+                new ProductResponse(2L, "a", null, 0L));
+        assertThat(ids(columns.page("b", PageRequest.of(0, 10)))).containsExactly(3L);
+
+        // 카테고리를 모르는 삭제(일괄 id 삭제)
+        assertThat(columns.remove(3, null)).isTrue();
+        assertThat(columns.remove(3, null)).isFalse();
+    }
+
+    @Test
+    void renameMergesIntoExistingCategoryAndBumpsVersion() {
+        CatalogColumns columns = new CatalogColumns();
+        columns.put(1, "a", "a1", 0);
+        columns.put(4, "a", "a4", 0);
+        columns.put(2, "b", "b2", 3);
+
+        assertThat(columns.renameCategory("a", "b")).isEqualTo(2);
+
+        assertThat(columns.page("a", PageRequest.of(0, 10)).getTotalElements()).isZero();
+        assertThat(columns.page("b", PageRequest.of(0, 10)).getContent()).containsExactly(
+                new ProductResponse(1L, "b", "a1", 1L),
+                new ProductResponse(2L, "b", "b2", 3L),
+                new ProductResponse(4L, "b", "a4", 1L));
+
+        assertThat(columns.removeCategory("b")).isEqualTo(3);
+        assertThat(columns.size()).isZero();
+    }
+
+    /*
+     * 늦게 도착한 이전 버전(기동 적재와 커밋 이벤트의 경합 등)이 최신 값을 덮어쓰지 않아야 함.
+     */
+    @Test
+    void olderVersionDoesNotOverwriteNewerRow() {
+        CatalogColumns columns = new CatalogColumns();
+        columns.put(1, "a", "v2", 2);
+
+        assertThat(columns.put(1, "a", "v1", 1)).isFalse();
+        assertThat(columns.page("a", PageRequest.of(0, 10)).getContent())
+                .containsExactly(new ProductResponse(1L, "a", "v2", 2L));
+
+        // 같은 버전 재적용과 더 높은 버전은 반영.
+        assertThat(columns.put(1, "a", "v2-again", 2)).isTrue();
+        assertThat(columns.put(1, "a", "v3", 3)).isTrue();
+        assertThat(columns.page("a", PageRequest.of(0, 10)).getContent())
+                .containsExactly(new ProductResponse(1L, "a", "v3", 3L));
+
+        // 일괄 이름 변경으로 올라간 버전보다 낮은 이벤트도 무시.
+        columns.renameCategory("a", "b");
+        assertThat(columns.put(1, "b", "stale", 3)).isFalse();
+        assertThat(columns.page("b", PageRequest.of(0, 10)).getContent().get(0).name()).isEqualTo("v3");
+        assertThat(columns.size()).isEqualTo(1);
+    }
+
+    /*
+     * 같은 행의 이름을 반복 교체하면 버려진 arena 영역이 쌓이므로 압축 후에도 값이 유지되는지 확인.
+     */
+    @Test
+    void repeatedRenamesCompactTheNameArena() {
+        CatalogColumns columns = new CatalogColumns();
+        for (long id = 1; id <= 100; id++) {
+            columns.put(id, "a", "initial-" + id, 0);
+        }
+        for (int round = 0; round < 200; round++) {
+            for (long id = 1; id <= 100; id++) {
+                columns.put(id, "a", "round-" + round + "-" + id, round);
+            }
+        }
+
+        List<ProductResponse> content = columns.page("a", PageRequest.of(0, 100)).getContent();
+        assertThat(content).hasSize(100);
+        assertThat(content.get(41).name()).isEqualTo("round-199-42");
+        // 살아 있는 이름은 100개 x 약 12바이트. 압축되지 않았다면 200라운드분이 남음.
+        assertThat(columns.estimatedBytes()).isLessThan(64 * 1024);
+    }
+
+    private static List<Long> ids(Page<ProductResponse> page) {
+        return page.getContent().stream().map(ProductResponse::id).toList();
+    }
+}
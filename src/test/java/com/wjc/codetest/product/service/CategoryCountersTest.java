@@ -0,0 +1,66 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import com.wjc.codetest.product.repository.CategoryCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 기동 적재(init)는 저장소가 필요하므로 호출하지 않고, 집계 결과를 reconcile(rows)로 직접 전달.
+ */
+class CategoryCountersTest {
+
+    private final CategoryCounters counters = new CategoryCounters(null, null);
+
+    @Test
+    void eventsAdjustCountsAndSnapshotSkipsEmptyCategories() {
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.CREATED, null, "b"));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.CREATED, null, "b"));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.CREATED, null, "a"));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.CREATED, null, null));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.UPDATED, "b", "b"));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.UPDATED, "a", "c"));
+        counters.onProductChanged(changed(ProductChangedEvent.ChangeType.DELETED, "b", null));
+
+        assertThat(counters.snapshot()).containsExactly(
+                new CategoryStatResponse("b", 1),
+                new CategoryStatResponse("c", 1));
+
+        counters.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("c", "d", 1));
+        counters.onProductBulkChanged(ProductBulkChangedEvent.idsDeleted(List.of(1L), Map.of("b", -1L), 1));
+        assertThat(counters.snapshot()).containsExactly(new CategoryStatResponse("d", 1));
+    }
+
+    /*
+     * 보정은 누적이 아니라 DB 값으로 덮어쓰기: 어긋난 카테고리는 차이만큼, DB에 없는 카테고리는 0으로.
+     */
+    @Test
+    void reconcileOverwritesDriftedCountsAndReportsDrift() {
+        counters.reconcile(List.of(row("a", 5), row("b", 1)));
+
+        long drift = counters.reconcile(List.of(row("a", 3), row("c", 2), row(null, 7)));
+
+        assertThat(drift).isEqualTo(2 + 1 + 2);
+        assertThat(counters.snapshot()).containsExactly(
+                new CategoryStatResponse("a", 3),
+                new CategoryStatResponse("c", 2));
+        assertThat(counters.reconcile(List.of(row("a", 3), row("c", 2)))).isZero();
+    }
+
+    private static ProductChangedEvent changed(ProductChangedEvent.ChangeType type, String from, String to) {
+        return new ProductChangedEvent(type, 1L, from, "item", to, to == null ? null : "item", 0L);
+    }
+
+    private static CategoryCount row(String category, long count) {
+        return new Row(category, count);
+    }
+
+    private record Row(String getCategory, long getCount) implements CategoryCount {
+    }
+}
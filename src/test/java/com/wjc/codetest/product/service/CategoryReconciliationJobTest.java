@@ -0,0 +1,96 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CategoryReconciliationJobTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryReconciliationJob reconciliationJob;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /*
+     * 카운터/레지스트리는 커밋 이후 이벤트로만 증감 -> 롤백된 등록은 반영되지 않아야 함.
+     */
+    @Test
+    void onlyCommittedChangesAdjustCounters() {
+        String category = "reconcile-" + UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            productService.create(new CreateProductRequest(category, "rolled-back"));
+            status.setRollbackOnly();
+        });
+        assertThat(stat(category)).isZero();
+        assertThat(productService.getUniqueCategories()).doesNotContain(category);
+
+        transaction.executeWithoutResult(status -> {
+            productService.create(new CreateProductRequest(category, "committed"));
+            // 커밋 전에는 반영되지 않음.
+            assertThat(stat(category)).isZero();
+        });
+        assertThat(stat(category)).isEqualTo(1);
+        assertThat(productService.getUniqueCategories()).contains(category);
+    }
+
+    /*
+     * 이벤트 없이 DB를 직접 수정(외부 배치 등)하면 카운터/레지스트리가 어긋나고, 보정 작업이 DB 값으로 덮어씀.
+     * 보정된 값이 조건부 요청에도 보이도록 카탈로그 ETag가 바뀌어야 함.
+     */
+    @Test
+    void reconcileRepairsDriftFromOutOfBandWrites() {
+        String added = "reconcile-added-" + UUID.randomUUID();
+        String removed = "reconcile-removed-" + UUID.randomUUID();
+        productService.create(new CreateProductRequest(removed, "item"));
+        productService.create(new CreateProductRequest(added, "item"));
+        insertWithoutEvents(added);
+        insertWithoutEvents(added);
+        jdbcTemplate.update("DELETE FROM product WHERE category = ?", removed);
+
+        assertThat(stat(added)).isEqualTo(1);
+        assertThat(stat(removed)).isEqualTo(1);
+        String eTag = productService.getCatalogETag("category-stats");
+
+        reconciliationJob.reconcile();
+
+        assertThat(productService.getCatalogETag("category-stats")).isNotEqualTo(eTag);
+
+        assertThat(stat(added)).isEqualTo(3);
+        assertThat(stat(removed)).isZero();
+        assertThat(productService.getUniqueCategories()).contains(added).doesNotContain(removed);
+    }
+
+    // 시퀀스 할당 구간과 겹치지 않도록 음수 id 사용.
+    private void insertWithoutEvents(String category) {
+        jdbcTemplate.update("INSERT INTO product (product_id, category, name) VALUES (?, ?, ?)",
+                -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), category, "external");
+    }
+
+    private long stat(String category) {
+        return productService.getCategoryStats().stream()
+                .filter(stat -> stat.category().equals(category))
+                .mapToLong(CategoryStatResponse::count)
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.repository.CategoryCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 기동 적재(init)는 저장소가 필요하므로 호출하지 않고, 집계 결과를 rebuild(rows)로 직접 전달.
+ */
+class CategoryRegistryTest {
+
+    private final CategoryRegistry registry = new CategoryRegistry(null, null);
+
+    @Test
+    void rebuildKeepsSortedNonEmptyCategories() {
+        assertThat(registry.rebuild(List.of(row("b", 2), row("a", 1), row(null, 5), row("z", 0)))).isTrue();
+
+        assertThat(registry.categories()).containsExactly("a", "b");
+    }
+
+    /*
+     * 호출 측은 변경이 있을 때만 카탈로그 워터마크를 올리므로, 같은 집계로 다시 적재하면 false.
+     */
+    @Test
+    void rebuildReportsWhetherCategoriesOrCountsChanged() {
+        registry.rebuild(List.of(row("a", 1), row("b", 2)));
+
+        assertThat(registry.rebuild(List.of(row("b", 2), row("a", 1)))).isFalse();
+        assertThat(registry.rebuild(List.of(row("a", 1), row("b", 3)))).isTrue();
+        assertThat(registry.rebuild(List.of(row("a", 1)))).isTrue();
+    }
+
+    /*
+     * rebuild는 clear 대신 retainAll + putAll: 사라진 카테고리는 제거하고, 남은 카테고리의 카운트는 DB 값으로 덮어씀.
+     */
+    @Test
+    void rebuildDropsMissingKeysAndOverwritesCounts() {
+        registry.adjust("stale", 1);
+        registry.adjust("a", 5);
+
+        registry.rebuild(List.of(row("a", 1), row("b", 1)));
+
+        assertThat(registry.categories()).containsExactly("a", "b");
+        // 누적(5 + 1)이 아니라 1로 덮어썼다면 한 건 삭제로 제거됨.
+        registry.onProductChanged(deleted(1L, "a"));
+        assertThat(registry.categories()).containsExactly("b");
+    }
+
+    @Test
+    void singleChangesAdjustReferenceCounts() {
+        registry.onProductChanged(created(1L, "a"));
+        registry.onProductChanged(created(2L, "a"));
+        registry.onProductChanged(created(3L, null));
+        assertThat(registry.categories()).containsExactly("a");
+
+        // 같은 카테고리 안의 수정은 변화 없음, 다른 카테고리로 이동하면 -1/+1.
+        registry.onProductChanged(updated(1L, "a", "a"));
+        registry.onProductChanged(updated(1L, "a", "b"));
+        assertThat(registry.categories()).containsExactly("a", "b");
+
+        registry.onProductChanged(deleted(2L, "a"));
+        assertThat(registry.categories()).containsExactly("b");
+        registry.onProductChanged(updated(1L, "b", null));
+        assertThat(registry.categories()).isEmpty();
+    }
+
+    @Test
+    void bulkChangesApplyCategoryDeltas() {
+        registry.rebuild(List.of(row("a", 2), row("b", 3), row("c", 1)));
+
+        registry.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("a", "d", 2));
+        assertThat(registry.categories()).containsExactly("b", "c", "d");
+
+        registry.onProductBulkChanged(ProductBulkChangedEvent.idsDeleted(List.of(1L, 2L), Map.of("b", -2L, "c", -1L), 3));
+        assertThat(registry.categories()).containsExactly("b", "d");
+
+        registry.onProductBulkChanged(ProductBulkChangedEvent.categoryDeleted("b", 1));
+        assertThat(registry.categories()).containsExactly("d");
+    }
+
+    private static ProductChangedEvent created(Long id, String category) {
+        return new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, id, null, null, category, "item", 0L);
+    }
+
+    private static ProductChangedEvent updated(Long id, String from, String to) {
+        return new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, id, from, "item", to, "item", 1L);
+    }
+
+    private static ProductChangedEvent deleted(Long id, String category) {
+        return new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, id, category, "item", null, null, null);
+    }
+
+    private static CategoryCount row(String category, long count) {
+        return new Row(category, count);
+    }
+
+    private record Row(String getCategory, long getCount) implements CategoryCount {
+    }
+}
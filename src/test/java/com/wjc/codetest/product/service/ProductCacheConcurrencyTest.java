@@ -0,0 +1,73 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductCacheConcurrencyTest {
+
+    private static final int WRITES = 300;
+    private static final int READERS = 8;
+
+    @Autowired
+    private ProductService productService;
+
+    /*
+     * 쓰기 스레드가 name을 v1, v2 ... 순으로 갱신하고, 커밋(update 반환) 직후 committed 값을 올림.
+     * 읽기 스레드는 조회 시작 전에 committed를 읽어두고, 조회 결과의 버전이 그보다 작으면 stale read로 판단.
+     */
+    @Test
+    void noStaleReadAfterWriteCommits() throws Exception {
+        Long productId = productService.create(new CreateProductRequest("cache-stress", "v0")).getId();
+        AtomicInteger committed = new AtomicInteger(0);
+        AtomicInteger staleReads = new AtomicInteger(0);
+        AtomicInteger reads = new AtomicInteger(0);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    int expectedAtLeast = committed.get();
+                    ProductResponse product = productService.getProductById(productId);
+                    int version = Integer.parseInt(product.name().substring(1));
+                    if (version < expectedAtLeast) {
+                        staleReads.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+
+        for (int v = 1; v <= WRITES; v++) {
+            productService.update(new UpdateProductRequest(productId, "cache-stress", "v" + v));
+            committed.set(v);
+        }
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(reads.get()).isGreaterThan(WRITES);
+        assertThat(staleReads.get()).isZero();
+        assertThat(productService.getProductById(productId).name()).isEqualTo("v" + WRITES);
+        assertThat(productService.getCacheStats().hitCount()).isPositive();
+    }
+}
@@ -0,0 +1,71 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.response.ProductChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductChangeRingTest {
+
+    @Test
+    void readsResumeAfterSequenceInOrder() throws Exception {
+        ProductChangeRing ring = new ProductChangeRing(8);
+        for (long id = 1; id <= 5; id++) {
+            append(ring, id);
+        }
+
+        ProductChangeRing.Read read = ring.readAfter(2, 10, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(read.gap()).isFalse();
+        assertThat(read.changes()).extracting(ProductChange::sequence).containsExactly(3L, 4L, 5L);
+        assertThat(read.changes()).extracting(ProductChange::productId).containsExactly(3L, 4L, 5L);
+        assertThat(ring.readAfter(2, 2, 0, TimeUnit.MILLISECONDS).changes())
+                .extracting(ProductChange::sequence).containsExactly(3L, 4L);
+    }
+
+    /*
+     * 버퍼 크기보다 뒤처진 구독자(덮어써진 위치)와 알 수 없는 미래 위치는 gap.
+     */
+    @Test
+    void overwrittenOrUnknownPositionIsGap() throws Exception {
+        ProductChangeRing ring = new ProductChangeRing(4);
+        for (long id = 1; id <= 10; id++) {
+            append(ring, id);
+        }
+
+        assertThat(ring.readAfter(5, 10, 0, TimeUnit.MILLISECONDS).gap()).isTrue();
+        assertThat(ring.readAfter(6, 10, 0, TimeUnit.MILLISECONDS).changes())
+                .extracting(ProductChange::sequence).containsExactly(7L, 8L, 9L, 10L);
+        ProductChangeRing.Read future = ring.readAfter(11, 10, 0, TimeUnit.MILLISECONDS);
+        assertThat(future.gap()).isTrue();
+        assertThat(future.latest()).isEqualTo(10);
+    }
+
+    @Test
+    void waitingReaderIsWokenByAppend() throws Exception {
+        ProductChangeRing ring = new ProductChangeRing(4);
+        CompletableFuture<ProductChangeRing.Read> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ring.readAfter(0, 10, 10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        append(ring, 42);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS).changes())
+                .extracting(ProductChange::productId).containsExactly(42L);
+        assertThat(ring.readAfter(1, 10, 10, TimeUnit.MILLISECONDS).changes()).isEmpty();
+    }
+
+    private static void append(ProductChangeRing ring, long productId) {
+        ProductChangedEvent event = new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, productId,
+                null, null, "category", "name-" + productId, 0L);
+        ring.append(sequence -> ProductChange.of(sequence, event));
+    }
+}
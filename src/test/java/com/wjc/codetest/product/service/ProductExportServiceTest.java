@@ -0,0 +1,89 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.ExportFormat;
+import com.wjc.codetest.product.model.response.ProductImportReport;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductExportServiceTest {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /*
+     * 힙 사용량이 행 수와 무관하려면 export 중 영속성 컨텍스트에 엔티티가 쌓이지 않아야 함.
+     * 출력 스트림에 기록되는 시점마다 같은 트랜잭션의 세션 엔티티 수를 측정하여 상한이 상수임을 확인.
+     */
+    @Test
+    void exportKeepsPersistenceContextFlat() throws Exception {
+        String category = "export-" + UUID.randomUUID();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"category\":\"").append(category).append("\",\"name\":\"p").append(i).append("\"}\n");
+        }
+        ProductImportReport report = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+        assertThat(report.importedRows()).isEqualTo(ROWS);
+
+        ManagedEntityProbe sink = new ManagedEntityProbe();
+        Long exported = new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                return productExportService.export(category, ExportFormat.NDJSON, sink);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(sink.lines).isEqualTo(ROWS);
+        assertThat(sink.samples).isPositive();
+        assertThat(sink.maxManagedEntities).isLessThanOrEqualTo(1);
+    }
+
+    private class ManagedEntityProbe extends OutputStream {
+        private long lines;
+        private long samples;
+        private int maxManagedEntities;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+            int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            maxManagedEntities = Math.max(maxManagedEntities, managed);
+            samples++;
+        }
+    }
+}
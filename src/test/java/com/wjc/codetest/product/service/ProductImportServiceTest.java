@@ -0,0 +1,113 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void jsonArrayIsImportedInChunks() throws Exception {
+        String category = "import-" + UUID.randomUUID();
+        String body = "[" + row(category, "a") + "," + row(category, "b") + ",\n" + row(category, "c") + "]";
+
+        ProductImportReport report = importProducts(body, 2);
+
+        assertThat(report.totalRows()).isEqualTo(3);
+        assertThat(report.importedRows()).isEqualTo(3);
+        assertThat(report.failedRows()).isZero();
+        assertThat(report.aborted()).isFalse();
+        assertThat(report.chunks()).extracting(ProductImportReport.Chunk::firstRow).containsExactly(0L, 2L);
+        assertThat(report.chunks()).extracting(ProductImportReport.Chunk::rows).containsExactly(2, 1);
+        assertThat(report.chunks()).allMatch(ProductImportReport.Chunk::committed);
+        assertThat(names(category)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void ndjsonIsImportedInChunks() throws Exception {
+        String category = "import-" + UUID.randomUUID();
+        String body = row(category, "a") + "\n\n" + row(category, "b") + "\r\n" + row(category, null) + "\n";
+
+        ProductImportReport report = importProducts(body, 10);
+
+        assertThat(report.totalRows()).isEqualTo(3);
+        assertThat(report.importedRows()).isEqualTo(3);
+        assertThat(report.chunks()).hasSize(1);
+        assertThat(report.chunks().get(0).committedRows()).isEqualTo(3);
+        assertThat(report.chunks().get(0).shards()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product WHERE category = ? AND name IS NULL", Integer.class, category)).isEqualTo(1);
+    }
+
+    /*
+     * 저장에 실패하는 행(컬럼 길이 초과)이 있는 청크만 롤백되고, 앞뒤 청크는 커밋되어야 함.
+     */
+    @Test
+    void failedChunkIsRolledBackAndLaterChunksContinue() throws Exception {
+        String category = "import-" + UUID.randomUUID();
+        String body = row(category, "a") + "\n" + row(category, "b") + "\n"
+                + row(category, "c") + "\n" + row(category, "x".repeat(300)) + "\n"
+                + row(category, "e") + "\n";
+
+        ProductImportReport report = importProducts(body, 2);
+
+        assertThat(report.totalRows()).isEqualTo(5);
+        assertThat(report.importedRows()).isEqualTo(3);
+        assertThat(report.failedRows()).isEqualTo(2);
+        assertThat(report.aborted()).isFalse();
+        List<ProductImportReport.Chunk> chunks = report.chunks();
+        assertThat(chunks).extracting(ProductImportReport.Chunk::committed).containsExactly(true, false, true);
+        assertThat(chunks).extracting(ProductImportReport.Chunk::committedRows).containsExactly(2, 0, 1);
+        assertThat(chunks.get(1).firstRow()).isEqualTo(2);
+        assertThat(chunks.get(1).error()).isNotNull();
+        assertThat(chunks.get(0).error()).isNull();
+        assertThat(names(category)).containsExactly("a", "b", "e");
+    }
+
+    /*
+     * 객체가 아닌 행을 만나면 스트림을 더 읽지 않고 중단. 이미 커밋된 청크는 유지, 버퍼에 남은 행은 실패로 집계.
+     */
+    @Test
+    void malformedRowAbortsButKeepsCommittedChunks() throws Exception {
+        String category = "import-" + UUID.randomUUID();
+        String body = row(category, "a") + "\n" + row(category, "b") + "\n" + row(category, "c") + "\n42\n" + row(category, "d");
+
+        ProductImportReport report = importProducts(body, 2);
+
+        assertThat(report.aborted()).isTrue();
+        assertThat(report.abortCause()).contains("row 3");
+        assertThat(report.totalRows()).isEqualTo(3);
+        assertThat(report.importedRows()).isEqualTo(2);
+        assertThat(report.failedRows()).isEqualTo(1);
+        assertThat(report.chunks()).hasSize(1);
+        assertThat(names(category)).containsExactly("a", "b");
+    }
+
+    private ProductImportReport importProducts(String body, int chunkSize) throws Exception {
+        return productImportService.importProducts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), chunkSize);
+    }
+
+    private List<String> names(String category) {
+        return jdbcTemplate.queryForList("SELECT name FROM product WHERE category = ? ORDER BY product_id", String.class, category);
+    }
+
+    private static String row(String category, String name) {
+        return "{\"category\":\"" + category + "\",\"name\":" + (name == null ? "null" : "\"" + name + "\"") + "}";
+    }
+}
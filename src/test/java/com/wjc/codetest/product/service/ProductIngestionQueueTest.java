@@ -0,0 +1,60 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.response.ProductIngestionStatus;
+import com.wjc.codetest.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductIngestionQueueTest {
+
+    private static final int REQUESTS = 2_000;
+
+    @Autowired
+    private ProductIngestionQueue productIngestionQueue;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /*
+     * 큐에 넣은 요청이 모두 배치 커밋되고, trackingId마다 서로 다른 productId가 확정되는지 확인.
+     */
+    @Test
+    void everyAcceptedRequestIsCommitted() throws Exception {
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            trackingIds.add(productIngestionQueue.enqueue(new CreateProductRequest("ingest-test", "item-" + i)).trackingId());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (productIngestionQueue.size() > 0 || !allCompleted(trackingIds)) {
+            assertThat(System.nanoTime()).as("ingestion drained in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (String trackingId : trackingIds) {
+            ProductIngestionStatus status = productIngestionQueue.getStatus(trackingId).orElseThrow();
+            assertThat(status.state()).isEqualTo(ProductIngestionStatus.State.COMMITTED);
+            productIds.add(status.productId());
+        }
+        assertThat(productIds).hasSize(REQUESTS);
+        assertThat(productRepository.findAllById(productIds)).hasSize(REQUESTS);
+    }
+
+    private boolean allCompleted(List<String> trackingIds) {
+        return trackingIds.stream()
+                .map(id -> productIngestionQueue.getStatus(id).orElseThrow())
+                .allMatch(status -> status.state() != ProductIngestionStatus.State.QUEUED);
+    }
+}
@@ -0,0 +1,159 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+@SpringBootTest
+class ProductListCoalescingTest {
+
+    private static final int CALLERS = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductListCoalescer productListCoalescer;
+
+    @Autowired
+    private ListQueryProbe listQueryProbe;
+
+    /*
+     * 같은 조건의 목록 요청 CALLERS개를 동시에 보내고, 첫 요청의 SQL 실행은 나머지가 모두 합류할 때까지 붙잡아 둠.
+     * 병합이 동작하면 Hibernate가 실행하는 목록 SQL은 1건이고 모든 호출자가 같은 결과를 받음.
+     */
+    @Test
+    void concurrentIdenticalListRequestsRunOneQuery() throws Exception {
+        String category = "coalesce-" + UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            productService.create(new CreateProductRequest(category, "item-" + i));
+        }
+        long coalescedBefore = productListCoalescer.coalescedCount();
+        listQueryProbe.arm(() -> awaitCoalesced(coalescedBefore + CALLERS - 1));
+        try {
+            List<Page<ProductResponse>> pages = runConcurrently(category);
+
+            assertThat(listQueryProbe.executions.get()).isEqualTo(1);
+            assertThat(productListCoalescer.coalescedCount() - coalescedBefore).isEqualTo(CALLERS - 1);
+            assertThat(pages).hasSize(CALLERS);
+            assertThat(pages).allSatisfy(page -> {
+                assertThat(page.getTotalElements()).isEqualTo(3);
+                assertThat(page.getContent()).isEqualTo(pages.get(0).getContent());
+            });
+
+            // 병합은 진행 중인 조회에만 합류하므로, 끝난 뒤의 요청은 다시 실행.
+            productService.getListByCategory(request(category));
+            assertThat(listQueryProbe.executions.get()).isEqualTo(2);
+        } finally {
+            listQueryProbe.disarm();
+        }
+    }
+
+    private List<Page<ProductResponse>> runConcurrently(String category) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Page<ProductResponse>>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return productService.getListByCategory(request(category));
+            }));
+        }
+        start.countDown();
+
+        List<Page<ProductResponse>> pages = new ArrayList<>();
+        for (Future<Page<ProductResponse>> future : futures) {
+            pages.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return pages;
+    }
+
+    private void awaitCoalesced(long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (productListCoalescer.coalescedCount() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("callers did not coalesce: " + productListCoalescer.coalescedCount() + " < " + expected);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static GetProductListRequest request(String category) {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory(category);
+        dto.setPage(0);
+        dto.setSize(20);
+        return dto;
+    }
+
+    /*
+     * Hibernate가 목록 조회 SQL(상품 select + 페이지 제한)을 실행하기 직전에 호출되어 실행 수를 세고,
+     * 첫 실행은 holdFirst가 끝날 때까지 붙잡아 둠. arm ~ disarm 사이에만 동작.
+     */
+    static class ListQueryProbe implements StatementInspector {
+        private final AtomicInteger executions = new AtomicInteger();
+        private volatile Runnable holdFirst;
+        private volatile boolean armed;
+
+        void arm(Runnable holdFirst) {
+            executions.set(0);
+            this.holdFirst = holdFirst;
+            armed = true;
+        }
+
+        void disarm() {
+            armed = false;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (!armed) {
+                return sql;
+            }
+            String normalized = sql.toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("select") && normalized.contains(" from product ") && normalized.contains("fetch first")
+                    && executions.incrementAndGet() == 1) {
+                holdFirst.run();
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class ListQueryProbeConfig {
+
+        @Bean
+        ListQueryProbe listQueryProbe() {
+            return new ListQueryProbe();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer listQueryProbeCustomizer(ListQueryProbe listQueryProbe) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, listQueryProbe);
+        }
+    }
+}
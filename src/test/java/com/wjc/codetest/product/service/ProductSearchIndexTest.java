@@ -0,0 +1,222 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.event.ProductBulkChangedEvent;
+import com.wjc.codetest.product.model.event.ProductChangedEvent;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 색인은 기동 시 적재(init) 외에는 커밋 이후 이벤트로만 변경되므로, 저장소 없이 이벤트를 직접 전달해 검증.
+ */
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(null, null, null, null);
+
+    /*
+     * size 상한이 없으면 (page + 1) * size 만큼 힙을 유지하고, int overflow 시 ArithmeticException(500).
+     */
+    @Test
+    void sizeIsCappedAndPageOverflowIsRejected() {
+        created(1L, "a", "product-1");
+
+        assertThat(index.search("prod", null, 0, GetProductListRequest.MAX_SIZE).hits()).hasSize(1);
+        assertThatThrownBy(() -> index.search("prod", null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("prod", null, 0, GetProductListRequest.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("prod", null, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("prod", null, Integer.MAX_VALUE, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("prod", null, Integer.MAX_VALUE / 10, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ProductSearchResponse deep = index.search("prod", null, Integer.MAX_VALUE / 10 - 1, 10);
+        assertThat(deep.hits()).isEmpty();
+        assertThat(deep.totalMatches()).isEqualTo(1);
+    }
+
+    /*
+     * 대소문자/앞뒤 공백은 정규화, 3글자 이상은 trigram 부분 일치, 1~2글자는 단어 시작 prefix만 일치.
+     */
+    @Test
+    void queriesAreNormalizedAndShortQueriesMatchWordPrefixes() {
+        created(1L, "a", "  Red Apple Juice ");
+        created(2L, "a", "pineapple");
+
+        assertThat(ids("APPLE", null)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(" juice ", null)).containsExactly(1L);
+        assertThat(ids("d ap", null)).containsExactly(1L);
+        assertThat(ids("j", null)).containsExactly(1L);
+        assertThat(ids("Ap", null)).containsExactly(1L);
+        assertThat(ids("pi", null)).containsExactly(2L);
+        // 단어 중간의 1~2글자는 prefix posting에 없음.
+        assertThat(ids("pl", null)).isEmpty();
+        assertThat(ids("le", null)).isEmpty();
+        assertThat(ids("grape", null)).isEmpty();
+        assertThat(index.search("red", null, 0, 10).hits().get(0).name()).isEqualTo("  Red Apple Juice ");
+    }
+
+    /*
+     * 상품명 prefix > 단어 prefix > 부분 일치, 같은 등급은 일치 위치 순. total은 페이지와 무관한 전체 일치 수.
+     */
+    @Test
+    void resultsAreRankedByTierThenPosition() {
+        created(4L, "a", "pineapple");
+        created(3L, "b", "big red apple");
+        created(2L, "a", "green apple");
+        created(1L, "b", "apple pie");
+
+        assertThat(ids("app", null)).containsExactly(1L, 2L, 3L, 4L);
+
+        ProductSearchResponse second = index.search("app", null, 1, 2);
+        assertThat(second.hits()).extracting(ProductSearchResponse.Hit::id).containsExactly(3L, 4L);
+        assertThat(second.totalMatches()).isEqualTo(4);
+        assertThat(index.search("app", null, 2, 2).hits()).isEmpty();
+    }
+
+    @Test
+    void categorySearchReadsOnlyThatPartition() {
+        created(1L, "a", "apple");
+        created(2L, "b", "apple");
+        created(3L, null, "apple");
+
+        assertThat(ids("apple", "a")).containsExactly(1L);
+        assertThat(ids("apple", "b")).containsExactly(2L);
+        assertThat(ids("apple", "missing")).isEmpty();
+        assertThat(ids("apple", null)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("apple", "a", 0, 10).totalMatches()).isEqualTo(1);
+    }
+
+    @Test
+    void updatesAndCategoryRenamesMoveDocuments() {
+        created(1L, "a", "apple");
+        created(2L, "a", "banana");
+        created(3L, "b", "cherry");
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, 1L, "a", "apple", "b", "apricot", 1L));
+        assertThat(ids("apple", null)).isEmpty();
+        assertThat(ids("apricot", "b")).containsExactly(1L);
+        assertThat(ids("apricot", "a")).isEmpty();
+
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("b", "c", 2));
+        assertThat(ids("apricot", "c")).containsExactly(1L);
+        assertThat(ids("cherry", "c")).containsExactly(3L);
+        assertThat(ids("cherry", "b")).isEmpty();
+        assertThat(ids("banana", "a")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void deletesRemoveDocumentsAndPostings() {
+        created(1L, "a", "apple");
+        created(2L, "a", "apple juice");
+        created(3L, "b", "apple pie");
+        created(4L, "c", "apple tart");
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, 1L, "a", "apple", null, null, null));
+        assertThat(ids("apple", null)).containsExactlyInAnyOrder(2L, 3L, 4L);
+
+        index.onProductBulkChanged(ProductBulkChangedEvent.idsDeleted(List.of(2L, 99L), Map.of("a", -1L), 1));
+        assertThat(ids("apple", "a")).isEmpty();
+        assertThat(ids("ju", null)).isEmpty();
+
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryDeleted("b", 1));
+        assertThat(ids("apple", null)).containsExactly(4L);
+        assertThat(ids("pi", null)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+
+        // 삭제된 id를 다시 생성하면 이전 posting 없이 새로 색인.
+        created(1L, "a", "banana");
+        assertThat(ids("apple", "a")).isEmpty();
+        assertThat(ids("ban", "a")).containsExactly(1L);
+    }
+
+    /*
+     * 대상 카테고리가 이미 있으면 두 파티션을 병합. 병합 후에도 단건 수정/삭제가 올바른 목록에서 빠져야 함.
+     */
+    @Test
+    void renameIntoExistingCategoryMergesPartitions() {
+        created(1L, "a", "apple");
+        created(3L, "a", "apple pie");
+        created(2L, "b", "apple juice");
+        created(4L, "b", "banana");
+
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("a", "b", 2));
+        assertThat(ids("apple", "b")).containsExactly(1L, 3L, 2L);
+        assertThat(ids("apple", "a")).isEmpty();
+        assertThat(index.search("apple", "b", 0, 10).hits()).extracting(ProductSearchResponse.Hit::category).containsOnly("b");
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, 1L, "b", "apple", "b", "avocado", 1L));
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, 3L, "b", "apple pie", null, null, null));
+        assertThat(ids("apple", "b")).containsExactly(2L);
+        assertThat(ids("avo", "b")).containsExactly(1L);
+        assertThat(ids("ban", "b")).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    /*
+     * 같은 목록에서 삭제가 절반을 넘어 압축된 뒤에도, 작은 id의 재추가(정렬 삽입)와 검색이 올바른지 확인.
+     */
+    @Test
+    void removalsCompactPostingsWithoutLosingLiveIds() {
+        for (long id = 1; id <= 100; id++) {
+            created(id, "a", "product-" + id);
+        }
+        for (long id = 1; id <= 100; id += 3) {
+            index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, id, "a", "product-" + id, null, null, null));
+        }
+        for (long id = 2; id <= 100; id += 3) {
+            index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, id, "a", "product-" + id, null, null, null));
+        }
+        created(1L, "a", "product-1");
+
+        List<Long> expected = new ArrayList<>(List.of(1L));
+        for (long id = 3; id <= 99; id += 3) {
+            expected.add(id);
+        }
+        assertThat(index.search("product-", "a", 0, GetProductListRequest.MAX_SIZE).totalMatches()).isEqualTo(expected.size());
+        assertThat(ids("product-", "a")).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    /*
+     * 큰 카테고리의 이름 변경(병합 포함)과 삭제는 문서 하나씩 posting을 지우지 않고 파티션 단위로 처리되므로
+     * 상품 수에 선형. 문서 단위로 반영하면 흔한 trigram("pro" 등) 목록 길이만큼씩 반복하여 O(N^2).
+     */
+    @Test
+    void largeCategoryRenameAndDeleteAreLinear() {
+        int products = 200_000;
+        for (long id = 1; id <= products; id++) {
+            created(id, "big", "product-" + id);
+        }
+        created((long) products + 1, "other", "product-other");
+
+        long started = System.nanoTime();
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("big", "huge", products));
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryRenamed("huge", "other", products));
+        index.onProductBulkChanged(ProductBulkChangedEvent.categoryDeleted("other", products + 1));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertThat(index.size()).isZero();
+        assertThat(ids("product", null)).isEmpty();
+    }
+
+    private List<Long> ids(String query, String category) {
+        return index.search(query, category, 0, GetProductListRequest.MAX_SIZE).hits().stream()
+                .map(ProductSearchResponse.Hit::id)
+                .toList();
+    }
+
+    private void created(Long id, String category, String name) {
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, id, null, null, category, name, 0L));
+    }
+}
@@ -0,0 +1,131 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.DeleteCategoryRequest;
+import com.wjc.codetest.product.model.request.DeleteProductsRequest;
+import com.wjc.codetest.product.model.request.RenameCategoryRequest;
+import com.wjc.codetest.product.model.response.CategoryStatResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 일괄 변경은 엔티티를 로딩하지 않으므로 파생 데이터(레지스트리, 카운터, 캐시)는 이벤트와 직접 무효화로만 반영됨.
+ * 각 경로마다 DB 행 수와 파생 데이터가 함께 맞는지 확인.
+ */
+@SpringBootTest
+class ProductServiceBulkOperationsTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void renameMovesRowsBumpsVersionsAndInvalidatesCache() {
+        String from = "bulk-from-" + UUID.randomUUID();
+        String to = "bulk-to-" + UUID.randomUUID();
+        List<Long> ids = create(from, 3);
+        create(to, 1);
+        // 캐시 적재 -> 이름 변경 후에도 이전 카테고리/버전을 반환하면 무효화 누락.
+        ProductResponse cached = productService.getProductById(ids.get(0));
+
+        assertThat(productService.renameCategory(new RenameCategoryRequest(from, to))).isEqualTo(3);
+
+        assertThat(count(from)).isZero();
+        assertThat(count(to)).isEqualTo(4);
+        ProductResponse renamed = productService.getProductById(ids.get(0));
+        assertThat(renamed.category()).isEqualTo(to);
+        assertThat(renamed.version()).isEqualTo(cached.version() + 1);
+        assertThat(productService.getUniqueCategories()).contains(to).doesNotContain(from);
+        assertThat(stat(from)).isZero();
+        assertThat(stat(to)).isEqualTo(4);
+
+        // 대상 행이 없으면 이벤트 없이 0.
+        assertThat(productService.renameCategory(new RenameCategoryRequest(from, to))).isZero();
+        assertThat(stat(to)).isEqualTo(4);
+        assertThatThrownBy(() -> productService.renameCategory(new RenameCategoryRequest(to, to)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deleteByCategoryRemovesRowsAndDerivedData() {
+        String category = "bulk-delete-" + UUID.randomUUID();
+        String other = "bulk-keep-" + UUID.randomUUID();
+        List<Long> ids = create(category, 2);
+        create(other, 1);
+        productService.getProductById(ids.get(0));
+
+        assertThat(productService.deleteByCategory(new DeleteCategoryRequest(category))).isEqualTo(2);
+
+        assertThat(count(category)).isZero();
+        assertThat(count(other)).isEqualTo(1);
+        assertThatThrownBy(() -> productService.getProductById(ids.get(0)))
+                .hasMessage("product not found");
+        assertThat(productService.getUniqueCategories()).contains(other).doesNotContain(category);
+        assertThat(stat(category)).isZero();
+        assertThat(stat(other)).isEqualTo(1);
+    }
+
+    @Test
+    void deleteByIdsAppliesPerCategoryDeltas() {
+        String a = "bulk-ids-a-" + UUID.randomUUID();
+        String b = "bulk-ids-b-" + UUID.randomUUID();
+        List<Long> idsA = create(a, 3);
+        List<Long> idsB = create(b, 2);
+        productService.getProductById(idsA.get(0));
+
+        // 중복/null/없는 id는 건너뜀.
+        List<Long> targets = Arrays.asList(idsA.get(0), idsA.get(1), idsB.get(0), idsA.get(0), null, Long.MAX_VALUE);
+        assertThat(productService.deleteByIds(new DeleteProductsRequest(targets))).isEqualTo(3);
+
+        assertThat(count(a)).isEqualTo(1);
+        assertThat(count(b)).isEqualTo(1);
+        assertThat(stat(a)).isEqualTo(1);
+        assertThat(stat(b)).isEqualTo(1);
+        assertThat(productService.getUniqueCategories()).contains(a, b);
+        assertThatThrownBy(() -> productService.getProductById(idsA.get(0)))
+                .hasMessage("product not found");
+        assertThat(productService.getProductById(idsA.get(2)).category()).isEqualTo(a);
+
+        // 카테고리의 마지막 상품이 삭제되면 레지스트리에서도 제거.
+        assertThat(productService.deleteByIds(new DeleteProductsRequest(List.of(idsA.get(2))))).isEqualTo(1);
+        assertThat(productService.getUniqueCategories()).contains(b).doesNotContain(a);
+        assertThat(stat(a)).isZero();
+        assertThatThrownBy(() -> productService.deleteByIds(new DeleteProductsRequest(List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> create(String category, int rows) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            ids.add(productService.create(new CreateProductRequest(category, "item-" + i)).getId());
+        }
+        return ids;
+    }
+
+    private int count(String category) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product WHERE category = ?", Integer.class, category);
+        return rows == null ? 0 : rows;
+    }
+
+    // snapshot은 0건 카테고리를 제외하므로 없으면 0.
+    private long stat(String category) {
+        return productService.getCategoryStats().stream()
+                .filter(stat -> stat.category().equals(category))
+                .mapToLong(CategoryStatResponse::count)
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.request.PagingType;
+import com.wjc.codetest.product.model.response.ProductCursorListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProductServiceCursorPagingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void cursorPagingVisitsEveryRowOnceInIdOrder() {
+        String category = "cursor-" + UUID.randomUUID();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            created.add(productService.create(new CreateProductRequest(category, "name-" + i)).getId());
+        }
+        productService.create(new CreateProductRequest("other-" + UUID.randomUUID(), "noise"));
+
+        List<Long> visited = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            GetProductListRequest dto = new GetProductListRequest();
+            dto.setCategory(category);
+            dto.setSize(10);
+            dto.setPaging(PagingType.CURSOR);
+            dto.setAfter(after);
+
+            ProductCursorListResponse response = productService.getCursorListByCategory(dto);
+            response.products().stream().map(ProductResponse::id).forEach(visited::add);
+            after = response.nextCursor();
+            pages++;
+            assertThat(response.hasNext()).isEqualTo(after != null);
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(visited).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void cursorFromAnotherCategoryIsRejected() {
+        String category = "cursor-" + UUID.randomUUID();
+        productService.create(new CreateProductRequest(category, "a"));
+        productService.create(new CreateProductRequest(category, "b"));
+
+        GetProductListRequest first = new GetProductListRequest();
+        first.setCategory(category);
+        first.setSize(1);
+        first.setPaging(PagingType.CURSOR);
+        String cursor = productService.getCursorListByCategory(first).nextCursor();
+
+        GetProductListRequest tampered = new GetProductListRequest();
+        tampered.setCategory("another");
+        tampered.setSize(1);
+        tampered.setAfter(cursor);
+
+        assertThatThrownBy(() -> productService.getCursorListByCategory(tampered))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageSizeAboveServerCapIsRejected() {
+        GetProductListRequest dto = new GetProductListRequest();
+        dto.setCategory("cursor-" + UUID.randomUUID());
+        dto.setSize(GetProductListRequest.MAX_SIZE + 1);
+
+        assertThatThrownBy(() -> productService.getListByCategory(dto))
+                .isInstanceOf(IllegalArgumentException.class);
+        dto.setPaging(PagingType.CURSOR);
+        assertThatThrownBy(() -> productService.getCursorListByCategory(dto))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}